@@ -0,0 +1,87 @@
+package com.prajaavaani.backend.benchmark;
+
+import com.prajaavaani.backend.PrajaavaaniBackendApplication;
+import com.prajaavaani.backend.model.GeographicLevel;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process application context on the embedded H2 database for benchmarks, plus bulk seeding helpers
+ * that write straight through JDBC so setup does not dominate the run. Public so benchmarks of package-private
+ * code, which live in that code's package, can build their subjects from the context too.
+ */
+public final class BenchmarkContext {
+
+    private static final int BATCH = 1_000;
+
+    private BenchmarkContext() {
+    }
+
+    // Extra properties as key=value; benchmarks use them to switch caches and write-behind on or off
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "jwt.secret.key=c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0c2VjcmV0",
+                "jwt.expiration.ms=3600000",
+                "twilio.account-sid=benchmark",
+                "twilio.auth-token=benchmark",
+                "twilio.phone-number=+10000000000",
+                // Request logging would otherwise be most of what gets measured
+                "logging.level.root=WARN",
+                "spring.jpa.show-sql=false"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(PrajaavaaniBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    static List<UUID> seedUsers(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            batch.add(new Object[]{id, String.format("7%09d", i), true, now, now});
+            if (batch.size() == BATCH || i == count - 1) {
+                jdbc.batchUpdate("INSERT INTO users (id, mobile_number, is_verified, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    // Concerns at one location with distinct, descending vote counts so every page is a stable ranking
+    static List<UUID> seedConcerns(ConfigurableApplicationContext context, UUID authorId, GeographicLevel level,
+                                   String locationIdentifier, int count) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<UUID> ids = new ArrayList<>(count);
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            int upvotes = count - i;
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i));
+            batch.add(new Object[]{id, authorId, "Benchmark", "Concern number " + i + " about local civic issues",
+                    upvotes, 0, upvotes, level.name(), locationIdentifier, createdAt, createdAt});
+            if (batch.size() == BATCH || i == count - 1) {
+                jdbc.batchUpdate("INSERT INTO concerns (id, author_id, author_name, text, upvotes, downvotes, net_votes, "
+                        + "geographic_level, location_identifier, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+}
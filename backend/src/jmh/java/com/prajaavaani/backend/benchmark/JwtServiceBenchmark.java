@@ -0,0 +1,88 @@
+package com.prajaavaani.backend.benchmark;
+
+import com.prajaavaani.backend.config.AuthenticatedUser;
+import com.prajaavaani.backend.config.JwtTokenCacheProperties;
+import com.prajaavaani.backend.service.JwtService;
+import com.prajaavaani.backend.service.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request from its bearer token: the old per-call key/parser
+ * construction with three parses, against the shared parser with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private String secretKey;
+    private String token;
+    private AuthenticatedUser user;
+    private Map<String, Object> claims;
+    private JwtService uncached;
+    private JwtService cached;
+
+    @Setup
+    public void setUp() {
+        secretKey = Encoders.BASE64.encode(Keys.secretKeyFor(io.jsonwebtoken.SignatureAlgorithm.HS256).getEncoded());
+        uncached = new JwtService(secretKey, 3_600_000L, new JwtTokenCacheProperties());
+        JwtTokenCacheProperties cacheProperties = new JwtTokenCacheProperties();
+        cacheProperties.setEnabled(true);
+        cached = new JwtService(secretKey, 3_600_000L, cacheProperties);
+
+        UUID userId = UUID.randomUUID();
+        user = new AuthenticatedUser(userId, "+919876543210");
+        claims = Map.of(JwtService.USER_ID_CLAIM, userId.toString());
+        token = uncached.generateToken(new HashMap<>(claims), user);
+    }
+
+    // Issued once per successful verify-otp
+    @Benchmark
+    public String generate() {
+        return uncached.generateToken(new HashMap<>(claims), user);
+    }
+
+    // What the filter used to do: extractUsername, extractUserId and isTokenValid, each decoding the key and building a parser
+    @Benchmark
+    public void perCallParser(Blackhole blackhole) {
+        for (int parse = 0; parse < 3; parse++) {
+            Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            blackhole.consume(claims.getSubject());
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken sharedParser() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifiedTokenCache() {
+        return cached.verify(token);
+    }
+}
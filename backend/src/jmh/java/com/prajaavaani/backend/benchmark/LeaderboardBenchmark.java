@@ -0,0 +1,89 @@
+package com.prajaavaani.backend.benchmark;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.dto.LeaderboardSliceDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.service.ConcernService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard reads for one location of {@link #CONCERNS} concerns at increasing page depth, with the
+ * top-N cache on and off, against the cursor window starting at the same depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final int CONCERNS = 20_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String LOCATION = "Hyderabad";
+
+    @Param({"0", "10", "500"})
+    public int page;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    ConfigurableApplicationContext context;
+    ConcernService concernService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("prajaavaani.leaderboard.cache.enabled=" + cache);
+        concernService = context.getBean(ConcernService.class);
+        UUID author = BenchmarkContext.seedUsers(context, 1).get(0);
+        BenchmarkContext.seedConcerns(context, author, GeographicLevel.CITY, LOCATION, CONCERNS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ConcernDto> offsetPage() {
+        return concernService.getLeaderboard(GeographicLevel.CITY, LOCATION, PageRequest.of(page, PAGE_SIZE), null);
+    }
+
+    // Cost of one cursor window is independent of depth; this measures the window that starts at the same depth
+    @Benchmark
+    public LeaderboardSliceDto cursorWindow(CursorAtDepth cursor) {
+        return concernService.getLeaderboardSlice(GeographicLevel.CITY, LOCATION, cursor.after, PAGE_SIZE, null);
+    }
+
+    @State(Scope.Thread)
+    public static class CursorAtDepth {
+        LeaderboardCursor after;
+
+        @Setup
+        public void setUp(LeaderboardBenchmark benchmark) {
+            for (int i = 0; i < benchmark.page; i++) {
+                LeaderboardSliceDto slice = benchmark.concernService.getLeaderboardSlice(
+                        GeographicLevel.CITY, LOCATION, after, PAGE_SIZE, null);
+                after = LeaderboardCursor.decode(slice.getNextCursor());
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.prajaavaani.backend.benchmark;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.ConcernEntity;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.repository.ConcernRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One uncached leaderboard page of {@link #PAGE_SIZE} concerns with long texts, loaded the way it used to be
+ * (managed entities, then copied into DTOs) against the DTO projection, with full text and with a text preview.
+ * Both run in a read-only transaction with the same count query, as getLeaderboard does; -prof gc gives the
+ * allocation per page. The embedded database hands back text without copying it over a wire, so what a preview
+ * saves in transfer and decoding only shows against a networked database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LeaderboardProjectionBenchmark {
+
+    private static final int CONCERNS = 5_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int TEXT_LENGTH = 2_000;
+    private static final String LOCATION = "Vijayawada";
+
+    // Characters of text selected by projectedPage; 0 = full text
+    @Param({"0", "200"})
+    public int preview;
+
+    ConfigurableApplicationContext context;
+    ConcernRepository concernRepository;
+    EntityManager entityManager;
+    TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("prajaavaani.leaderboard.cache.enabled=false");
+        concernRepository = context.getBean(ConcernRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        UUID author = BenchmarkContext.seedUsers(context, 1).get(0);
+        BenchmarkContext.seedConcerns(context, author, GeographicLevel.CITY, LOCATION, CONCERNS);
+        // A distinct text per row: the embedded database would otherwise hand every row the same String instance
+        String filler = "Drainage overflow near the bus stand. ".repeat(TEXT_LENGTH / 38 + 1).substring(0, TEXT_LENGTH - 40);
+        context.getBean(JdbcTemplate.class).update("UPDATE concerns SET text = CONCAT(CAST(id AS VARCHAR), ' ', ?)", filler);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // What fetchLeaderboard did before: hydrate, snapshot and track every row, then copy the fields out
+    @Benchmark
+    public Page<ConcernDto> entityPage() {
+        return readOnly.execute(status -> {
+            List<ConcernEntity> entities = entityManager.createQuery("SELECT c FROM ConcernEntity c "
+                            + "WHERE c.geographicLevel = :level AND c.locationIdentifier = :location "
+                            + "ORDER BY c.netVotes DESC, c.createdAt DESC, c.id DESC", ConcernEntity.class)
+                    .setParameter("level", GeographicLevel.CITY)
+                    .setParameter("location", LOCATION)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            Long total = entityManager.createQuery("SELECT COUNT(c) FROM ConcernEntity c "
+                            + "WHERE c.geographicLevel = :level AND c.locationIdentifier = :location", Long.class)
+                    .setParameter("level", GeographicLevel.CITY)
+                    .setParameter("location", LOCATION)
+                    .getSingleResult();
+            List<ConcernDto> dtos = new ArrayList<>(entities.size());
+            for (ConcernEntity entity : entities) {
+                dtos.add(new ConcernDto(entity.getId(), entity.getAuthor() != null ? entity.getAuthor().getId() : null,
+                        entity.getAuthorName(), entity.getText(), entity.getUpvotes(), entity.getDownvotes(),
+                        entity.getNetVotes(), entity.getGeographicLevel(), entity.getLocationIdentifier(),
+                        entity.getCreatedAt(), entity.getUpdatedAt()));
+            }
+            return new PageImpl<>(dtos, PageRequest.of(0, PAGE_SIZE), total);
+        });
+    }
+
+    @Benchmark
+    public Page<ConcernDto> projectedPage() {
+        int textLength = preview == 0 ? ConcernRepository.FULL_TEXT : preview;
+        return readOnly.execute(status -> new PageImpl<>(
+                concernRepository.findLeaderboardPage(GeographicLevel.CITY, LOCATION, textLength, 0, PAGE_SIZE),
+                PageRequest.of(0, PAGE_SIZE), concernRepository.countByGeographicLevelAndLocationIdentifier(GeographicLevel.CITY, LOCATION)));
+    }
+}
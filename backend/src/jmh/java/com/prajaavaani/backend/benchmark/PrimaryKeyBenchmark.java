@@ -0,0 +1,114 @@
+package com.prajaavaani.backend.benchmark;
+
+import com.prajaavaani.backend.model.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts into a votes-shaped table that already holds {@link #PRELOADED} rows, keyed by random version 4 UUIDs (what
+ * {@code @GeneratedValue(strategy = UUID)} and UUID.randomUUID() produced) or by TimeOrderedUuidGenerator. The database is
+ * on disk with a page cache well below the size of the primary key, so random keys pay for the pages they touch all
+ * over the index. Only the primary key is indexed, so the difference is the key order alone.
+ *
+ * <p>Throughput is rows per second, in batches of {@link #BATCH}. Once the rows are preloaded, the table's size on disk
+ * (rows and primary key, from DISK_SPACE_USED) and the database file size are printed. H2 writes every changed page
+ * anew, so the live size comes out alike and random keys show in the file instead, grown by all the pages they had
+ * rewritten. PostgreSQL updates pages in place and keeps the half-full pages random splits leave behind; compare
+ * pg_relation_size('votes_pkey') there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PrimaryKeyBenchmark {
+
+    private static final int PRELOADED = 1_000_000;
+    private static final int BATCH = 1_000;
+    // Page cache in KB, a fraction of what the preloaded primary key needs
+    private static final int CACHE_SIZE = 8_192;
+
+    @Param({"random", "timeOrdered"})
+    public String scheme;
+
+    Path directory;
+    Connection connection;
+    PreparedStatement insert;
+    UUID[] concerns;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = Path.of("target", "jmh-primary-key", scheme + "-" + UUID.randomUUID());
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.toAbsolutePath().resolve("db")
+                + ";MODE=PostgreSQL;CACHE_SIZE=" + CACHE_SIZE, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE votes (id UUID PRIMARY KEY, user_id UUID NOT NULL, concern_id UUID NOT NULL, "
+                    + "vote_type VARCHAR(10) NOT NULL, timestamp TIMESTAMP NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO votes (id, user_id, concern_id, vote_type, timestamp) VALUES (?, ?, ?, ?, ?)");
+        concerns = new UUID[1_000];
+        for (int i = 0; i < concerns.length; i++) {
+            concerns[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < PRELOADED; i += BATCH) {
+            insertBatch();
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT DISK_SPACE_USED('VOTES')")) {
+            result.next();
+            System.out.printf("%n%s: %,d rows, table and primary key %,d KB, database file %,d KB%n", scheme, PRELOADED,
+                    result.getLong(1) / 1024, Files.size(directory.resolve("db.mv.db")) / 1024);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        connection.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, "random".equals(scheme) ? UUID.randomUUID() : TimeOrderedUuidGenerator.next());
+            insert.setObject(2, UUID.randomUUID());
+            insert.setObject(3, concerns[random.nextInt(concerns.length)]);
+            insert.setString(4, random.nextBoolean() ? "UPVOTE" : "DOWNVOTE");
+            insert.setTimestamp(5, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
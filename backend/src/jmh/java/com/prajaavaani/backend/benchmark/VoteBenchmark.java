@@ -0,0 +1,99 @@
+package com.prajaavaani.backend.benchmark;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.VoteRequest;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.VoteEntity;
+import com.prajaavaani.backend.service.ConcernService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ConcernService.castVote end to end (transaction, vote row, counter update, leaderboard cache upkeep).
+ * Each thread is its own user, so successive calls alternate between casting and toggling off a vote.
+ * singleVote spreads users over many concerns; contendedVote points every thread at one concern row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VoteBenchmark {
+
+    private static final int USERS = 256;
+    private static final int CONCERNS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean writeBehind;
+
+    ConfigurableApplicationContext context;
+    ConcernService concernService;
+    List<UUID> users;
+    List<UUID> concerns;
+    final AtomicInteger nextUser = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("prajaavaani.votes.write-behind.enabled=" + writeBehind,
+                "prajaavaani.votes.write-behind.journal-directory=target/jmh-vote-journal/" + UUID.randomUUID());
+        concernService = context.getBean(ConcernService.class);
+        users = BenchmarkContext.seedUsers(context, USERS);
+        concerns = BenchmarkContext.seedConcerns(context, users.get(0), GeographicLevel.PINCODE, "500001", CONCERNS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Voter {
+        UUID userId;
+        VoteRequest spread;
+        VoteRequest hot;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(VoteBenchmark benchmark) {
+            int index = benchmark.nextUser.getAndIncrement() % USERS;
+            userId = benchmark.users.get(index);
+            spread = new VoteRequest();
+            spread.setVoteType(VoteEntity.VoteType.UPVOTE);
+            hot = new VoteRequest();
+            hot.setConcernId(benchmark.concerns.get(0));
+            hot.setVoteType(VoteEntity.VoteType.UPVOTE);
+            next = index;
+        }
+    }
+
+    @Benchmark
+    public ConcernDto singleVote(Voter voter) {
+        voter.spread.setConcernId(concerns.get(voter.next++ % CONCERNS));
+        return concernService.castVote(voter.spread, voter.userId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ConcernDto contendedVote(Voter voter) {
+        return concernService.castVote(voter.hot, voter.userId);
+    }
+}
@@ -0,0 +1,69 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.benchmark.BenchmarkContext;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.ConcernEntity;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// ConcernServiceImpl.mapToDto on a detached entity; lives in the service package to reach the package-private mapper
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcernMappingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ConcernServiceImpl concernService;
+    private ConcernEntity entity;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        // The bean behind the transactional proxy, so only the mapping itself is measured
+        concernService = AopTestUtils.getUltimateTargetObject(context.getBean(ConcernService.class));
+        UserEntity author = new UserEntity();
+        author.setId(UUID.randomUUID());
+        entity = new ConcernEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setAuthor(author);
+        entity.setAuthorName("Benchmark");
+        entity.setText("Streetlights on the main road have been out for two weeks");
+        entity.setUpvotes(120);
+        entity.setDownvotes(7);
+        entity.setNetVotes(113);
+        entity.setGeographicLevel(GeographicLevel.PINCODE);
+        entity.setLocationIdentifier("500001");
+        entity.setCreatedAt(LocalDateTime.now().minusDays(2));
+        entity.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConcernDto mapToDto() {
+        return concernService.mapToDto(entity);
+    }
+}
@@ -0,0 +1,53 @@
+package com.prajaavaani.backend.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Load-test tool for sizing deployments. Two commands share one deterministic synthetic data set:
+ * <pre>
+ *   seed    --jdbc-url=... [--jdbc-user= --jdbc-password= --users=100000 --concerns=1000000 --votes-per-user=20 --seed=42 --zipf=1.1]
+ *   run     --jwt-secret=... [--base-url=http://localhost:8080 --concurrency=32 --warmup=10 --duration=60
+ *            --mix=leaderboard:55,scroll:10,vote:25,create:5,auth:5 --active-users=10000 --otp=000000 --label= --out=report.json]
+ *   compare --baseline=a.json --candidate=b.json [--out=comparison.json]
+ * </pre>
+ * {@code run} must use the same --seed/--users/--concerns/--zipf as {@code seed}. Results are written as JSON
+ * to --out, or stdout; progress goes to stderr.
+ *
+ * Platform vs virtual request threads (Java 21): start the instance once as is and once with
+ * {@code --spring.threads.virtual.enabled=true}, drive each with the same vote storm, e.g.
+ * {@code run --mix=vote:90,leaderboard:10 --concurrency=2000 --label=platform --out=platform.json}, then
+ * {@code compare --baseline=platform.json --candidate=virtual.json}. Running the instance with
+ * {@code -Djdk.tracePinnedThreads=short} prints any virtual thread that blocks while pinned to its carrier.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run") || args[0].equals("compare"))) {
+            System.err.println("usage: LoadGenerator seed|run|compare --key=value ...");
+            System.exit(2);
+        }
+        LoadOptions options = new LoadOptions(args, 1);
+        Map<String, Object> result = switch (args[0]) {
+            case "seed" -> new Seeder(options).run();
+            case "run" -> new TrafficDriver(options).run();
+            default -> new ReportComparison(options).run();
+        };
+
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(result);
+        String out = options.string("out", null);
+        if (out == null) {
+            System.out.println(json);
+        } else {
+            Files.writeString(Path.of(out), json);
+            System.err.println("wrote " + out);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.prajaavaani.backend.loadgen;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// --key=value command line options with defaults; options are echoed into the JSON report, secrets masked
+final class LoadOptions {
+
+    private static final Set<String> SECRETS = Set.of("jwt-secret", "jdbc-password");
+
+    private final Map<String, String> values = new HashMap<>();
+
+    LoadOptions(String[] args, int from) {
+        for (int i = from; i < args.length; i++) {
+            String arg = args[i];
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    String required(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + key);
+        }
+        return value;
+    }
+
+    int integer(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    long longValue(String key, long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+
+    double decimal(String key, double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    // ISO-8601 (PT30S) or plain seconds
+    Duration duration(String key, Duration defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    Map<String, String> forReport() {
+        Map<String, String> report = new TreeMap<>(values);
+        report.replaceAll((key, value) -> SECRETS.contains(key) ? "***" : value);
+        return report;
+    }
+}
@@ -0,0 +1,71 @@
+package com.prajaavaani.backend.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Puts two {@code run} reports side by side, e.g. the same vote storm against an instance on platform threads
+ * (baseline) and one started with spring.threads.virtual.enabled=true on Java 21 (candidate). For each endpoint
+ * and metric it reports both values and candidate / baseline.
+ */
+final class ReportComparison {
+
+    private static final List<String> METRICS = List.of("throughputPerSecond", "p50Ms", "p99Ms", "p999Ms", "maxMs", "errors");
+
+    private final LoadOptions options;
+
+    ReportComparison(LoadOptions options) {
+        this.options = options;
+    }
+
+    Map<String, Object> run() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baseline = mapper.readTree(Path.of(options.required("baseline")).toFile());
+        JsonNode candidate = mapper.readTree(Path.of(options.required("candidate")).toFile());
+
+        TreeSet<String> names = new TreeSet<>();
+        baseline.path("endpoints").fieldNames().forEachRemaining(names::add);
+        for (Iterator<String> it = candidate.path("endpoints").fieldNames(); it.hasNext(); ) {
+            names.add(it.next());
+        }
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (String name : names) {
+            JsonNode before = baseline.path("endpoints").path(name);
+            JsonNode after = candidate.path("endpoints").path(name);
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            for (String metric : METRICS) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("baseline", before.has(metric) ? before.get(metric).asDouble() : null);
+                values.put("candidate", after.has(metric) ? after.get(metric).asDouble() : null);
+                if (before.has(metric) && after.has(metric) && before.get(metric).asDouble() != 0) {
+                    values.put("ratio", after.get(metric).asDouble() / before.get(metric).asDouble());
+                }
+                metrics.put(metric, values);
+            }
+            endpoints.put(name, metrics);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseline", describe(options.required("baseline"), baseline));
+        report.put("candidate", describe(options.required("candidate"), candidate));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static Map<String, Object> describe(String file, JsonNode report) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("file", file);
+        description.put("label", report.path("options").path("label").asText(null));
+        description.put("concurrency", report.path("concurrency").asInt());
+        description.put("durationSeconds", report.path("durationSeconds").asDouble());
+        return description;
+    }
+}
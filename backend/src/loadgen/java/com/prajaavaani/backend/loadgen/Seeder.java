@@ -0,0 +1,149 @@
+package com.prajaavaani.backend.loadgen;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Bulk-loads users, concerns and votes over plain JDBC into a schema the application has already created.
+ * Votes are drawn twice from the same per-user random streams: the first pass only counts them so each
+ * concern row is inserted with its final counters, the second inserts the vote rows themselves.
+ */
+final class Seeder {
+
+    private static final int BATCH = 5_000;
+
+    private final LoadOptions options;
+    private final SyntheticData data;
+
+    Seeder(LoadOptions options) {
+        this.options = options;
+        this.data = SyntheticData.from(options);
+    }
+
+    Map<String, Object> run() throws SQLException {
+        int votesPerUser = options.integer("votes-per-user", 20);
+        ZipfSampler concernPopularity = new ZipfSampler(data.concerns, data.exponent);
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+
+        try (Connection connection = DriverManager.getConnection(options.required("jdbc-url"),
+                options.string("jdbc-user", "sa"), options.string("jdbc-password", ""))) {
+            connection.setAutoCommit(false);
+
+            Timestamp userCreatedAt = Timestamp.valueOf(now.minusDays(120));
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO users (id, mobile_number, is_verified, created_at, updated_at) VALUES (?, ?, TRUE, ?, ?)")) {
+                for (int u = 0; u < data.users; u++) {
+                    insert.setObject(1, data.userId(u));
+                    insert.setString(2, data.mobileNumber(u));
+                    insert.setTimestamp(3, userCreatedAt);
+                    insert.setTimestamp(4, userCreatedAt);
+                    addBatch(connection, insert, u, data.users, "users");
+                }
+            }
+
+            int[] upvotes = new int[data.concerns];
+            int[] downvotes = new int[data.concerns];
+            long votes = 0;
+            for (int u = 0; u < data.users; u++) {
+                SplittableRandom random = votesOf(u);
+                for (int concern : pickConcerns(random, concernPopularity, votesPerUser)) {
+                    if (isUpvote(random)) {
+                        upvotes[concern]++;
+                    } else {
+                        downvotes[concern]++;
+                    }
+                    votes++;
+                }
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO concerns (id, author_id, text, upvotes, downvotes, net_votes, geographic_level, "
+                            + "location_identifier, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int c = 0; c < data.concerns; c++) {
+                    SyntheticData.Location location = data.locationOf(c);
+                    // Older concerns first, spread over the last 90 days
+                    Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(90L * 24 * 3600 * (data.concerns - c) / data.concerns));
+                    insert.setObject(1, data.concernId(c));
+                    insert.setObject(2, data.userId(data.authorOf(c)));
+                    insert.setString(3, "Synthetic concern #" + c + " about roads, water supply and sanitation in "
+                            + location.identifier());
+                    insert.setInt(4, upvotes[c]);
+                    insert.setInt(5, downvotes[c]);
+                    insert.setInt(6, upvotes[c] - downvotes[c]);
+                    insert.setString(7, location.level().name());
+                    insert.setString(8, location.identifier());
+                    insert.setTimestamp(9, createdAt);
+                    insert.setTimestamp(10, createdAt);
+                    addBatch(connection, insert, c, data.concerns, "concerns");
+                }
+            }
+
+            Timestamp votedAt = Timestamp.valueOf(now);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO votes (id, user_id, concern_id, vote_type, timestamp) VALUES (?, ?, ?, ?, ?)")) {
+                long written = 0;
+                for (int u = 0; u < data.users; u++) {
+                    SplittableRandom random = votesOf(u);
+                    for (int concern : pickConcerns(random, concernPopularity, votesPerUser)) {
+                        insert.setObject(1, UUID.nameUUIDFromBytes(
+                                (data.seed + ":vote:" + u + ':' + concern).getBytes(StandardCharsets.UTF_8)));
+                        insert.setObject(2, data.userId(u));
+                        insert.setObject(3, data.concernId(concern));
+                        insert.setString(4, isUpvote(random) ? "UPVOTE" : "DOWNVOTE");
+                        insert.setTimestamp(5, votedAt);
+                        addBatch(connection, insert, written++, votes, "votes");
+                    }
+                }
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("users", data.users);
+            summary.put("concerns", data.concerns);
+            summary.put("votes", votes);
+            summary.put("seconds", (System.nanoTime() - started) / 1e9);
+            return summary;
+        }
+    }
+
+    private SplittableRandom votesOf(int user) {
+        return new SplittableRandom(data.seed * 1_000_003L + user);
+    }
+
+    // Distinct concerns, since a user holds at most one vote per concern
+    private static Set<Integer> pickConcerns(SplittableRandom random, ZipfSampler popularity, int count) {
+        Set<Integer> picked = new HashSet<>();
+        int target = Math.min(count, popularity.size());
+        while (picked.size() < target) {
+            picked.add(popularity.sample(random));
+        }
+        return picked;
+    }
+
+    private static boolean isUpvote(SplittableRandom random) {
+        return random.nextDouble() < 0.8;
+    }
+
+    private static void addBatch(Connection connection, PreparedStatement statement, long index, long total, String table)
+            throws SQLException {
+        statement.addBatch();
+        if ((index + 1) % BATCH == 0 || index + 1 == total) {
+            statement.executeBatch();
+            connection.commit();
+            if ((index + 1) % (BATCH * 20) == 0 || index + 1 == total) {
+                System.err.printf("seeded %,d / %,d %s%n", index + 1, total, table);
+            }
+        }
+    }
+}
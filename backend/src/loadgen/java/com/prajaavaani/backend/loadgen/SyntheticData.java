@@ -0,0 +1,98 @@
+package com.prajaavaani.backend.loadgen;
+
+import com.prajaavaani.backend.model.GeographicLevel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The synthetic data set, derived entirely from (seed, users, concerns) so the seeder and the traffic
+ * driver agree on IDs, mobile numbers and locations without reading anything back from the database.
+ * Locations form four tiers; within a tier, and across concerns, popularity follows a Zipf distribution.
+ */
+final class SyntheticData {
+
+    static final GeographicLevel[] LEVELS = {
+            GeographicLevel.STATE, GeographicLevel.DISTRICT, GeographicLevel.CITY, GeographicLevel.PINCODE};
+    // Locations per tier, roughly India-shaped
+    static final int[] LOCATIONS_PER_LEVEL = {36, 750, 4_000, 19_000};
+    // Share of concerns posted at each tier
+    private static final double[] LEVEL_SHARE = {0.10, 0.20, 0.30, 0.40};
+
+    final long seed;
+    final int users;
+    final int concerns;
+    final double exponent;
+    private final ZipfSampler[] locationSamplers = new ZipfSampler[LEVELS.length];
+
+    SyntheticData(long seed, int users, int concerns, double exponent) {
+        this.seed = seed;
+        this.users = users;
+        this.concerns = concerns;
+        this.exponent = exponent;
+        for (int i = 0; i < LEVELS.length; i++) {
+            locationSamplers[i] = new ZipfSampler(LOCATIONS_PER_LEVEL[i], exponent);
+        }
+    }
+
+    static SyntheticData from(LoadOptions options) {
+        return new SyntheticData(options.longValue("seed", 42L), options.integer("users", 100_000),
+                options.integer("concerns", 1_000_000), options.decimal("zipf", 1.1));
+    }
+
+    UUID userId(int index) {
+        return id("user", index);
+    }
+
+    // 10-digit numbers starting with 6, which no real seeding script would hand out
+    String mobileNumber(int index) {
+        return String.format("6%09d", index);
+    }
+
+    UUID concernId(int index) {
+        return id("concern", index);
+    }
+
+    int authorOf(int concernIndex) {
+        return Math.floorMod(mix(concernIndex), users);
+    }
+
+    // Where concern #index was posted; the same index always maps to the same location
+    Location locationOf(int concernIndex) {
+        return randomLocation(new SplittableRandom(seed ^ mix(concernIndex)));
+    }
+
+    // A location to browse, weighted like posting activity
+    Location randomLocation(SplittableRandom random) {
+        double pick = random.nextDouble();
+        int level = 0;
+        while (level < LEVELS.length - 1 && pick >= LEVEL_SHARE[level]) {
+            pick -= LEVEL_SHARE[level];
+            level++;
+        }
+        return new Location(LEVELS[level], locationName(level, locationSamplers[level].sample(random)));
+    }
+
+    private static String locationName(int level, int rank) {
+        return switch (LEVELS[level]) {
+            case STATE -> String.format("State-%02d", rank);
+            case DISTRICT -> String.format("District-%03d", rank);
+            case CITY -> String.format("City-%04d", rank);
+            default -> String.format("%06d", 110_000 + rank);
+        };
+    }
+
+    private UUID id(String kind, int index) {
+        return UUID.nameUUIDFromBytes((kind + ':' + seed + ':' + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    record Location(GeographicLevel level, String identifier) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.prajaavaani.backend.loadgen;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load against a running instance. Each worker repeatedly picks an operation from the
+ * configured mix and waits for its response. Users act through JWTs minted with the server's secret, so the
+ * data set's users need no OTP round trip; the auth operation exercises request-otp / verify-otp using the
+ * fixed OTP of the server's loadtest profile. Latencies recorded after warm-up are reported per endpoint.
+ */
+final class TrafficDriver {
+
+    private static final String DEFAULT_MIX = "leaderboard:55,scroll:10,vote:25,create:5,auth:5";
+
+    private final LoadOptions options;
+    private final SyntheticData data;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ZipfSampler concernPopularity;
+    private final ZipfSampler activeUsers;
+    private final String[] tokens;
+    private final String[] operations;
+    private final double[] cumulativeWeights;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    TrafficDriver(LoadOptions options) {
+        this.options = options;
+        this.data = SyntheticData.from(options);
+        this.baseUrl = options.string("base-url", "http://localhost:8080");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.concernPopularity = new ZipfSampler(data.concerns, data.exponent);
+
+        // Mint one token per active user up front; activity among them is itself Zipf-skewed
+        int active = Math.min(options.integer("active-users", 10_000), data.users);
+        this.activeUsers = new ZipfSampler(active, data.exponent);
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(options.required("jwt-secret")));
+        long expiresAt = System.currentTimeMillis() + Duration.ofDays(1).toMillis();
+        this.tokens = new String[active];
+        for (int u = 0; u < active; u++) {
+            tokens[u] = Jwts.builder()
+                    .claim("uid", data.userId(u).toString())
+                    .setSubject(data.mobileNumber(u))
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(expiresAt))
+                    .signWith(key, SignatureAlgorithm.HS256)
+                    .compact();
+        }
+
+        String[] entries = options.string("mix", DEFAULT_MIX).split(",");
+        this.operations = new String[entries.length];
+        this.cumulativeWeights = new double[entries.length];
+        double total = 0;
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].split(":");
+            operations[i] = parts[0].trim();
+            total += Double.parseDouble(parts[1]);
+            cumulativeWeights[i] = total;
+        }
+        for (int i = 0; i < entries.length; i++) {
+            cumulativeWeights[i] /= total;
+        }
+    }
+
+    Map<String, Object> run() throws InterruptedException {
+        int concurrency = options.integer("concurrency", 32);
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = options.duration("duration", Duration.ofSeconds(60));
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            SplittableRandom random = new SplittableRandom(data.seed * 7_919L + w);
+            Thread worker = new Thread(() -> {
+                while (running.get()) {
+                    runOne(random);
+                }
+            }, "loadgen-" + w);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        Thread.sleep(warmup.toMillis());
+        stats.clear();
+        recording = true;
+        long started = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join(10_000);
+        }
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> endpoints.put(entry.getKey(), entry.getValue().summary(elapsedSeconds)));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options.forReport());
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void runOne(SplittableRandom random) {
+        double pick = random.nextDouble();
+        int op = 0;
+        while (op < operations.length - 1 && pick >= cumulativeWeights[op]) {
+            op++;
+        }
+        String token = tokens[activeUsers.sample(random)];
+        switch (operations[op]) {
+            case "leaderboard" -> {
+                SyntheticData.Location location = data.randomLocation(random);
+                // Most readers stay on the first page; a few scroll deep
+                int page = random.nextDouble() < 0.8 ? 0 : random.nextInt(50);
+                call("GET /leaderboard", get("/api/v1/concerns/leaderboard?level=" + location.level()
+                        + "&locationIdentifier=" + location.identifier() + "&page=" + page + "&size=20", token));
+            }
+            case "scroll" -> {
+                SyntheticData.Location location = data.randomLocation(random);
+                call("GET /leaderboard/scroll", get("/api/v1/concerns/leaderboard/scroll?level=" + location.level()
+                        + "&locationIdentifier=" + location.identifier() + "&size=20", token));
+            }
+            case "vote" -> {
+                String body = "{\"concernId\":\"" + data.concernId(concernPopularity.sample(random))
+                        + "\",\"voteType\":\"" + (random.nextDouble() < 0.8 ? "UPVOTE" : "DOWNVOTE") + "\"}";
+                call("POST /vote", post("/api/v1/concerns/vote", body, token));
+            }
+            case "create" -> {
+                SyntheticData.Location location = data.randomLocation(random);
+                String body = "{\"text\":\"Load test concern " + random.nextLong() + "\",\"geographicLevel\":\""
+                        + location.level() + "\",\"locationIdentifier\":\"" + location.identifier() + "\"}";
+                call("POST /concerns", post("/api/v1/concerns", body, token));
+            }
+            case "auth" -> {
+                String mobile = data.mobileNumber(random.nextInt(data.users));
+                if (call("POST /auth/request-otp", post("/api/v1/auth/request-otp",
+                        "{\"mobileNumber\":\"" + mobile + "\"}", null))) {
+                    call("POST /auth/verify-otp", post("/api/v1/auth/verify-otp", "{\"mobileNumber\":\"" + mobile
+                            + "\",\"otpCode\":\"" + options.string("otp", "000000") + "\"}", null));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown operation in --mix: " + operations[op]);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    // Returns whether the call got a 2xx response
+    private boolean call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        if (recording) {
+            stats.computeIfAbsent(endpoint, name -> new EndpointStats())
+                    .record(System.nanoTime() - start, status);
+        }
+        return status >= 200 && status < 300;
+    }
+
+    private static final class EndpointStats {
+        // Microseconds, up to one minute, 3 significant digits
+        final Histogram latency = new ConcurrentHistogram(60_000_000L, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long nanos, int status) {
+            latency.recordValue(Math.min(nanos / 1_000, latency.getHighestTrackableValue()));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status < 200 || status >= 300) {
+                errors.increment();
+            }
+        }
+
+        Map<String, Object> summary(double elapsedSeconds) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            long count = latency.getTotalCount();
+            summary.put("requests", count);
+            summary.put("errors", errors.sum());
+            summary.put("throughputPerSecond", count / elapsedSeconds);
+            summary.put("p50Ms", latency.getValueAtPercentile(50) / 1_000.0);
+            summary.put("p99Ms", latency.getValueAtPercentile(99) / 1_000.0);
+            summary.put("p999Ms", latency.getValueAtPercentile(99.9) / 1_000.0);
+            summary.put("maxMs", latency.getMaxValue() / 1_000.0);
+            Map<String, Long> byStatus = new TreeMap<>();
+            statuses.forEach((status, counter) -> byStatus.put(status < 0 ? "io-error" : Integer.toString(status), counter.sum()));
+            summary.put("statuses", byStatus);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.prajaavaani.backend.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+// Principal placed in the SecurityContext by JwtAuthenticationFilter.
+// Carries the user's UUID (from the token's uid claim) so controllers never look the user up by mobile number.
+public class AuthenticatedUser implements UserDetails {
+
+    private final UUID userId;
+    private final String mobileNumber;
+
+    public AuthenticatedUser(UUID userId, String mobileNumber) {
+        this.userId = userId;
+        this.mobileNumber = mobileNumber;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getUsername() {
+        return mobileNumber; // Username is the mobile number, as everywhere else
+    }
+
+    @Override
+    public String getPassword() {
+        return ""; // Auth is handled by OTP/JWT, never by password comparison
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
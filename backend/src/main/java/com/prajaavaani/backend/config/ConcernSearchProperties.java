@@ -0,0 +1,37 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.search")
+@Data
+@Validated
+public class ConcernSearchProperties {
+
+    // When false the index is not built and searches return nothing
+    private boolean enabled = true;
+
+    // Full rebuild from the database, picking up votes applied by write-behind flushes or other instances
+    @NotNull
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+
+    // How strongly net votes lift a text match: score = bm25 * (1 + voteWeight * ln(1 + max(netVotes, 0)))
+    @DecimalMin("0.0")
+    private double voteWeight = 0.5;
+
+    // Deepest result position that can be paged to; bounds the ranking work per query
+    @Min(1)
+    private int maxResults = 1000;
+
+    // Terms beyond this in a query are ignored
+    @Min(1)
+    private int maxQueryTerms = 8;
+}
@@ -1,6 +1,9 @@
 package com.prajaavaani.backend.config;
 
+import com.prajaavaani.backend.service.HotPathMetrics;
 import com.prajaavaani.backend.service.JwtService;
+import com.prajaavaani.backend.service.VerifiedToken;
+import com.prajaavaani.backend.service.UserStatusCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,16 +18,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component // Mark as a Spring component to be picked up
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService; // Inject Spring's UserDetailsService
+    private final UserStatusCache userStatusCache;
+    private final HotPathMetrics hotPathMetrics;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, UserStatusCache userStatusCache,
+                                   HotPathMetrics hotPathMetrics) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.userStatusCache = userStatusCache;
+        this.hotPathMetrics = hotPathMetrics;
     }
 
     @Override
@@ -46,15 +55,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7); // Extract token after "Bearer "
         try {
-            userMobileNumber = jwtService.extractUsername(jwt);
+            // One parse verifies the signature and expiry and yields both subject and user ID
+            VerifiedToken token;
+            long started = System.nanoTime();
+            try {
+                token = jwtService.verify(jwt);
+            } finally {
+                hotPathMetrics.recordJwtVerify(System.nanoTime() - started);
+            }
+            userMobileNumber = token.subject();
 
             // Check if user is not already authenticated
             if (userMobileNumber != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load user details using UserDetailsService (which uses our UserDetailsServiceImpl)
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userMobileNumber);
+                UserDetails userDetails;
+                UUID userId = token.userId();
+                if (userId != null) {
+                    // Token carries the user ID: build the principal from it, checking only the cached user status
+                    if (!userStatusCache.isActive(userId)) {
+                        logger.warn("JWT presented for inactive or deleted user: " + userMobileNumber);
+                        hotPathMetrics.authFailed(HotPathMetrics.AuthFailure.INACTIVE_USER);
+                        filterChain.doFilter(request, response);
+                        return;
+                    }
+                    userDetails = new AuthenticatedUser(userId, userMobileNumber);
+                } else {
+                    // Tokens issued before the uid claim: load user details using UserDetailsService
+                    userDetails = this.userDetailsService.loadUserByUsername(userMobileNumber);
+                }
 
                 // Validate token
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userMobileNumber.equals(userDetails.getUsername())) {
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
@@ -70,11 +100,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                      logger.debug("JWT token validated successfully for user: " + userMobileNumber);
                 } else {
                      logger.warn("JWT token validation failed for user: " + userMobileNumber);
+                     hotPathMetrics.authFailed(HotPathMetrics.AuthFailure.INVALID_TOKEN);
                  }
             }
         } catch (Exception e) {
             // Log exceptions during token parsing/validation
              logger.error("Error processing JWT token: " + e.getMessage());
+             hotPathMetrics.authFailed(HotPathMetrics.AuthFailure.INVALID_TOKEN);
              // Optionally, you could set an error response here
         }
 
@@ -0,0 +1,20 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.auth.token-cache")
+@Data
+@Validated
+public class JwtTokenCacheProperties {
+
+    // Remember recently verified tokens until their exp so repeat requests skip signature verification
+    private boolean enabled = false;
+
+    @Min(1)
+    private int maxSize = 10_000;
+}
@@ -0,0 +1,37 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.leaderboard.cache")
+@Data
+@Validated
+public class LeaderboardCacheProperties {
+
+    private boolean enabled = true;
+
+    // Concerns kept per (level, location); deeper pages go to the database
+    @Min(1)
+    private int topN = 1000;
+
+    // Upper bound on cached concerns across all locations; least recently read locations are evicted first
+    @Min(1)
+    private int maxEntries = 100_000;
+
+    // Upper bound on the total text length of cached concerns, in characters. Boards hold full text (up to 5,000
+    // characters per concern), so this, not max-entries, is what bounds memory when concerns are long.
+    @Min(1)
+    private long maxTextChars = 20_000_000;
+
+    // A location's top-N is reloaded from the database once it is older than this,
+    // which bounds drift from votes applied elsewhere (other instances, write-behind flushes)
+    @NotNull
+    private Duration staleness = Duration.ofSeconds(30);
+}
@@ -0,0 +1,34 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.leaderboard.rollup")
+@Data
+@Validated
+public class LeaderboardRollupProperties {
+
+    // Requires hierarchyFile; without it rolled-up requests fall back to the location's own leaderboard
+    private boolean enabled = false;
+
+    // CSV of location mappings, header = GeographicLevel names finest first (e.g. pincode,city,district,state)
+    private String hierarchyFile;
+
+    // Parent of every STATE in the hierarchy
+    private String country = "India";
+
+    // Concerns ranked per ancestor location; rolled-up leaderboards are limited to this depth
+    @Min(1)
+    private int topK = 500;
+
+    // Full rebuild from the database, restoring depth lost to decaying entries and picking up write-behind votes
+    @NotNull
+    private Duration rebuildInterval = Duration.ofMinutes(30);
+}
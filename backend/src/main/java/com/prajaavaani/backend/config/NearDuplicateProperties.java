@@ -0,0 +1,42 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.concerns.duplicates")
+@Data
+@Validated
+public class NearDuplicateProperties {
+
+    // When false no signatures are kept and new concerns are returned without possible duplicates
+    private boolean enabled = true;
+
+    // Estimated Jaccard similarity of the two texts' word sets at or above which a concern is reported
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double similarityThreshold = 0.6;
+
+    // Possible duplicates returned with a new concern, most similar first
+    @Min(1)
+    private int maxCandidates = 5;
+
+    // Most recent concerns compared against per location; older ones are forgotten beyond this
+    @Min(1)
+    private int maxPerLocation = 1000;
+
+    // Signatures held in total (about 150 bytes each); the least recently posted-to location is dropped beyond this
+    @Min(1)
+    private int maxEntries = 500_000;
+
+    // When set, the index is periodically rebuilt from the database, dropping merged concerns and picking up
+    // concerns posted through other instances (unset = only at startup)
+    private Duration rebuildInterval;
+}
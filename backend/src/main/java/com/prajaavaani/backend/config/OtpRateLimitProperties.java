@@ -0,0 +1,57 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.auth.rate-limit")
+@Data
+@Validated
+public class OtpRateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets tracked per scope (numbers and IPs separately). Only idle buckets are dropped; while a scope is full of
+    // busy ones, calls from keys it does not track are rejected
+    @Min(1)
+    private int maxKeys = 200_000;
+
+    @NotNull
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    @Valid
+    private Endpoint requestOtp = new Endpoint(new Limit(3, Duration.ofMinutes(10)), new Limit(20, Duration.ofMinutes(1)));
+
+    @Valid
+    private Endpoint verifyOtp = new Endpoint(new Limit(10, Duration.ofMinutes(10)), new Limit(60, Duration.ofMinutes(1)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        @Valid
+        private Limit perNumber;
+        @Valid
+        private Limit perIp;
+    }
+
+    // Up to capacity calls in a burst, refilled evenly at capacity per period
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        @Min(1)
+        private int capacity;
+        @NotNull
+        private Duration period;
+    }
+}
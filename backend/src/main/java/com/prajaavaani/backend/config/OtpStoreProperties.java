@@ -0,0 +1,43 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.otp.store")
+@Data
+@Validated
+public class OtpStoreProperties {
+
+    // memory: single node, sharded time-wheel store; jdbc: otp_codes table shared by all instances
+    @NotNull
+    private Type type = Type.MEMORY;
+
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(5);
+
+    // Wrong codes accepted before the pending OTP is discarded
+    @Min(1)
+    private int maxAttempts = 3;
+
+    // Memory store only: total pending OTPs kept; the oldest is evicted beyond this
+    @Min(1)
+    private int maxEntries = 100_000;
+
+    @Min(1)
+    private int shards = 16;
+
+    // Expiry granularity (memory store) and purge interval (jdbc store)
+    @NotNull
+    private Duration tick = Duration.ofSeconds(1);
+
+    public enum Type {
+        MEMORY, JDBC
+    }
+}
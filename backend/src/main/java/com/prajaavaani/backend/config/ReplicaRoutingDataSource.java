@@ -0,0 +1,279 @@
+package com.prajaavaani.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends each connection either to the primary or to a read replica. A connection opened inside a read-only
+ * transaction goes to the next healthy replica (round robin); everything else, including work outside a
+ * transaction, goes to the primary. ReplicaRoutingConfig wraps this in a LazyConnectionDataSourceProxy, so the
+ * choice is made at the first statement, once the transaction's read-only flag is known.
+ *
+ * A replica is healthy while its copy of the primary's heartbeat row is at most {@code max-lag} old. A user whose
+ * write committed less than {@code stickiness} ago reads from the primary, so the leaderboard they load right after
+ * voting always includes their vote.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    static final String PRIMARY = "primary";
+
+    private final ReplicaRoutingProperties properties;
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // User ID -> System.nanoTime() at which their reads may go back to the replicas
+    private final ConcurrentHashMap<UUID, Long> recentWriters = new ConcurrentHashMap<>();
+    private final Counter primaryRoutes;
+    private final Counter stickyRoutes;
+    private final Counter replicaRoutes;
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(ReplicaRoutingProperties properties, DataSource primary, List<DataSource> replicaDataSources,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.primary = primary;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (DataSource dataSource : replicaDataSources) {
+            Replica replica = new Replica("replica-" + replicas.size(), dataSource);
+            replicas.add(replica);
+            targets.put(replica.key, dataSource);
+            Gauge.builder("prajaavaani.datasource.replica.lag", replica, r -> r.lagMillis)
+                    .description("Age of the primary's heartbeat as seen on the replica (-1 = unreachable)")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.key)
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = routedCounter(meterRegistry, "primary");
+        this.stickyRoutes = routedCounter(meterRegistry, "primary-sticky");
+        this.replicaRoutes = routedCounter(meterRegistry, "replica");
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("prajaavaani.datasource.routed")
+                .description("Connections handed out, by where they were routed")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    // Runs once the schema exists and startup data has been loaded
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        JdbcTemplate primaryJdbc = new JdbcTemplate(primary);
+        primaryJdbc.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        beat(primaryJdbc);
+        if (properties.isEmbeddedSnapshot()) {
+            snapshotIntoReplicas(primaryJdbc);
+        }
+        checkLag();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getLagCheckInterval().toMillis();
+        lagChecker.scheduleWithFixedDelay(() -> {
+            try {
+                beat(primaryJdbc);
+                checkLag();
+                forgetExpiredWriters();
+            } catch (RuntimeException e) {
+                log.warn("Replica lag check failed: {}", e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close {}: {}", replica.key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            UUID writer = currentUserId();
+            if (writer != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        rememberWriter(writer);
+                    }
+                });
+            }
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        UUID reader = currentUserId();
+        if (reader != null && isSticky(reader)) {
+            stickyRoutes.increment();
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        replicaRoutes.increment();
+        return replica.key;
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user ? user.getUserId() : null;
+    }
+
+    private void rememberWriter(UUID userId) {
+        recentWriters.put(userId, System.nanoTime() + properties.getStickiness().toNanos());
+        if (recentWriters.size() > properties.getMaxStickyUsers()) {
+            // Expired entries are swept every lag check; past that, forgetting a writer only costs them a stale read
+            Iterator<UUID> iterator = recentWriters.keySet().iterator();
+            while (recentWriters.size() > properties.getMaxStickyUsers() && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean isSticky(UUID userId) {
+        Long until = recentWriters.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        recentWriters.remove(userId, until);
+        return false;
+    }
+
+    private void forgetExpiredWriters() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now <= 0);
+    }
+
+    // Several instances may write the row; the replica's copy is only as old as the newest beat it has applied
+    private static void beat(JdbcTemplate primaryJdbc) {
+        long now = System.currentTimeMillis();
+        if (primaryJdbc.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", now) == 0) {
+            primaryJdbc.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?) ON CONFLICT DO NOTHING", now);
+        }
+    }
+
+    // The measured lag includes up to one lag-check-interval of heartbeat age, so max-lag should be larger than that
+    private void checkLag() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try {
+                Long beat = replica.jdbc.queryForObject("SELECT MAX(beat_millis) FROM replica_heartbeat", Long.class);
+                replica.lagMillis = beat == null ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - beat);
+                healthy = properties.getMaxLag() == null || replica.lagMillis <= properties.getMaxLag().toMillis();
+                if (!healthy && replica.healthy) {
+                    log.warn("{} is {} ms behind the primary; reading from the primary until it catches up", replica.key, replica.lagMillis);
+                }
+            } catch (DataAccessException e) {
+                replica.lagMillis = -1;
+                healthy = false;
+                if (replica.healthy) {
+                    log.warn("{} is unreachable; reading from the primary until it recovers: {}", replica.key, e.getMessage());
+                }
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Routing read-only transactions to {} ({} ms behind)", replica.key, replica.lagMillis);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    // H2 only: SCRIPT dumps the primary's schema and rows to a file that RUNSCRIPT replays into each replica
+    private void snapshotIntoReplicas(JdbcTemplate primaryJdbc) {
+        Path script = null;
+        try {
+            script = Files.createTempFile("replica-snapshot", ".sql");
+            String path = script.toAbsolutePath().toString().replace("'", "''");
+            primaryJdbc.execute("SCRIPT TO '" + path + "'");
+            for (Replica replica : replicas) {
+                replica.jdbc.execute("RUNSCRIPT FROM '" + path + "'");
+            }
+            log.info("Copied the primary into {} embedded replicas", replicas.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (script != null) {
+                try {
+                    Files.deleteIfExists(script);
+                } catch (IOException e) {
+                    log.warn("Failed to delete {}: {}", script, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private volatile boolean healthy; // False until the first lag check
+        private volatile long lagMillis = -1;
+
+        Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+    }
+}
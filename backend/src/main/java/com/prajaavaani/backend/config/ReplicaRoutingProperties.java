@@ -0,0 +1,57 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.datasource.replicas")
+@Data
+@Validated
+public class ReplicaRoutingProperties {
+
+    // When true, read-only transactions are served by the replicas below; spring.datasource stays the primary
+    private boolean enabled = false;
+
+    @Valid
+    private List<Replica> replicas = new ArrayList<>();
+
+    // A replica further behind the primary than this is skipped until it catches up (unset = lag is not checked,
+    // e.g. for local testing against databases that do not replicate)
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How often the primary writes a heartbeat and each replica's copy of it is read back to measure lag
+    @NotNull
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    // After a user's write commits, their reads go to the primary for this long so they see their own vote
+    @NotNull
+    private Duration stickiness = Duration.ofSeconds(10);
+
+    // Users remembered for stickiness at once; expired entries are dropped first
+    @Min(1)
+    private int maxStickyUsers = 100_000;
+
+    // Local testing with embedded H2 databases only: copy the primary's schema and data into each replica at
+    // startup, after which the replica stays frozen like one that has stopped replicating
+    private boolean embeddedSnapshot = false;
+
+    @Data
+    public static class Replica {
+        @NotBlank
+        private String url;
+        private String username;
+        private String password;
+        @Min(1)
+        private int maxPoolSize = 10;
+    }
+}
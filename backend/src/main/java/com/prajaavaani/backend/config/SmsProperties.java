@@ -0,0 +1,69 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.sms")
+@Data
+@Validated
+public class SmsProperties {
+
+    // stub: logs messages, with optional simulated latency/failures; twilio: real delivery
+    @NotNull
+    private Sender sender = Sender.STUB;
+
+    // Messages waiting for a worker; request-otp is rejected once this is full
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    @Min(1)
+    private int workers = 4;
+
+    // Total send attempts per message before it goes to the dead-letter log
+    @Min(1)
+    private int maxAttempts = 4;
+
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    @NotNull
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    @Valid
+    private Stub stub = new Stub();
+
+    public enum Sender {
+        STUB, TWILIO
+    }
+
+    @Data
+    public static class Stub {
+
+        // Simulated provider round trip: latency plus a uniform random jitter
+        @NotNull
+        private Duration latency = Duration.ZERO;
+
+        @NotNull
+        private Duration jitter = Duration.ZERO;
+
+        // Fraction of sends that fail, to exercise retries and dead-lettering
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double failureRate = 0.0;
+
+        // Load testing only: every OTP is this code, so clients can verify without reading SMS. Ignored unless sender is stub.
+        @Pattern(regexp = "\\d{6}")
+        private String fixedOtp;
+    }
+}
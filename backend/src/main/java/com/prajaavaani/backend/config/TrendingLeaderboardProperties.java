@@ -0,0 +1,41 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.leaderboard.trending")
+@Data
+@Validated
+public class TrendingLeaderboardProperties {
+
+    // When false, sort=trending falls back to the net-votes leaderboard
+    private boolean enabled = true;
+
+    // A vote counts half as much after this long
+    @NotNull
+    private Duration halfLife = Duration.ofHours(12);
+
+    // Score a concern starts with when posted, so new concerns surface before their first vote
+    @DecimalMin("0.0")
+    private double creationWeight = 1.0;
+
+    // Concerns ranked per location; the lowest-scoring ones are dropped beyond this
+    @Min(1)
+    private int maxPerLocation = 500;
+
+    // Locations tracked at once; the least recently updated location is dropped beyond this
+    @Min(1)
+    private int maxLocations = 10_000;
+
+    // Votes and concerns newer than this are replayed from the database on startup (0 = start empty)
+    @NotNull
+    private Duration warmupWindow = Duration.ofHours(48);
+}
@@ -2,14 +2,11 @@ package com.prajaavaani.backend.config; // Placing in config package for securit
 
 import com.prajaavaani.backend.model.UserEntity;
 import com.prajaavaani.backend.repository.UserRepository;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections; // For empty authorities list
-
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
@@ -25,16 +22,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         UserEntity userEntity = userRepository.findByMobileNumber(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with mobile number: " + username));
 
-        // Create Spring Security UserDetails object
-        // Using an empty password "" because auth is handled by OTP/JWT, not password comparison here.
+        // Create Spring Security UserDetails object (password is empty: auth is handled by OTP/JWT).
         // Assign roles/authorities if implemented later.
-        return new User(userEntity.getMobileNumber(), "", Collections.emptyList());
+        return new AuthenticatedUser(userEntity.getId(), userEntity.getMobileNumber());
     }
 
     // Optional: Method to load UserDetails by ID if needed elsewhere
     public UserDetails loadUserById(java.util.UUID id) throws UsernameNotFoundException {
          UserEntity userEntity = userRepository.findById(id)
                  .orElseThrow(() -> new UsernameNotFoundException("User not found with ID: " + id));
-         return new User(userEntity.getMobileNumber(), "", Collections.emptyList());
+         return new AuthenticatedUser(userEntity.getId(), userEntity.getMobileNumber());
      }
 }
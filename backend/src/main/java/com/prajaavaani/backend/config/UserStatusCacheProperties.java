@@ -0,0 +1,24 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.auth.user-status-cache")
+@Data
+@Validated
+public class UserStatusCacheProperties {
+
+    @Min(1)
+    private int maxSize = 100_000;
+
+    // How long a user's active/revoked status is trusted before re-reading it
+    @NotNull
+    private Duration ttl = Duration.ofMinutes(5);
+}
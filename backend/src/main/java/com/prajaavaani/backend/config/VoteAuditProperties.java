@@ -0,0 +1,45 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.votes.audit")
+@Data
+@Validated
+public class VoteAuditProperties {
+
+    private boolean enabled = true;
+
+    // Fraction of votes recorded (1.0 = every vote)
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double sampleRate = 1.0;
+
+    // Ring buffer slots, rounded up to a power of two; events are dropped (and counted) when it is full
+    @Min(2)
+    private int bufferSize = 65_536;
+
+    @NotNull
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    @NotBlank
+    private String directory = "data/vote-audit";
+
+    // Roll to a new file past this size, keeping at most maxFiles files in total
+    @NotNull
+    private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+    @Min(1)
+    private int maxFiles = 10;
+}
@@ -0,0 +1,63 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.votes.event-log")
+@Data
+@Validated
+public class VoteEventLogProperties {
+
+    // When false no vote events are recorded and the projections stay empty
+    private boolean enabled = false;
+
+    // Directory holding the memory-mapped log segments
+    @NotBlank
+    private String directory = "data/vote-events";
+
+    // Preallocated size of each segment file; a full segment is sealed and a new one started
+    @NotNull
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // How often dirty pages of the active segment are forced to disk; until then events survive
+    // a process crash (the pages belong to the OS) but not an OS crash
+    @NotNull
+    private Duration forceInterval = Duration.ofSeconds(1);
+
+    // Sealed segments whose events are all older than this are deleted once every projection has applied them,
+    // checked every retention-check-interval (unset = keep the whole log). Restarts and replays then start from the
+    // oldest retained event, and reconciliation only covers concerns created after it.
+    private Duration retention;
+
+    @NotNull
+    private Duration retentionCheckInterval = Duration.ofMinutes(5);
+
+    // How often the projector tails the log when it has caught up
+    @NotNull
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    // Width and count of the per-location activity buckets kept by the trend projection
+    @NotNull
+    private Duration trendBucket = Duration.ofHours(1);
+
+    @Min(1)
+    private int trendBuckets = 48;
+
+    // When set, concern counters that disagree with the tally projection are periodically recounted from
+    // the votes table and corrected (unset = never)
+    private Duration reconcileInterval;
+
+    // Concerns updated more recently than this are left alone by reconciliation, so a vote that has
+    // committed but not yet reached the log is never mistaken for drift
+    @NotNull
+    private Duration reconcileQuietPeriod = Duration.ofSeconds(30);
+}
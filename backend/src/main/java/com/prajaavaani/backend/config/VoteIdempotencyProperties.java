@@ -0,0 +1,47 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.votes.idempotency")
+@Data
+@Validated
+public class VoteIdempotencyProperties {
+
+    // When false the Idempotency-Key header on POST /vote is ignored
+    private boolean enabled = true;
+
+    // How long a key's response is replayed; a retry after this is treated as a new vote
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+
+    // A key whose first request has not finished after this long is assumed abandoned and may be claimed again
+    @NotNull
+    private Duration pendingTimeout = Duration.ofSeconds(30);
+
+    // Keys held in memory; the oldest is evicted beyond this
+    @Min(1)
+    private int maxEntries = 100_000;
+
+    @Min(1)
+    private int shards = 16;
+
+    // Longest Idempotency-Key accepted
+    @Min(1)
+    private int maxKeyLength = 255;
+
+    // Also record keys in the idempotency_keys table, so retries are recognised across instances and restarts.
+    // Keys found in memory still never touch the database.
+    private boolean persistent = false;
+
+    // Persistent mode: how often expired rows are deleted
+    @NotNull
+    private Duration purgeInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,47 @@
+package com.prajaavaani.backend.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "prajaavaani.votes.write-behind")
+@Data
+@Validated
+public class VoteWriteBehindProperties {
+
+    // When false, castVote writes synchronously inside the request transaction
+    private boolean enabled = false;
+
+    // Stable name of this instance; its flush checkpoints are stored under it. Every instance writing behind to the
+    // same database needs its own value and its own journal directory, and must keep both across restarts.
+    @NotBlank
+    @Size(max = 64)
+    private String instanceId = "default";
+
+    // Number of independent buffer/journal stripes. Must not change while journal files are pending replay.
+    @Min(1)
+    private int stripes = 16;
+
+    // How often each stripe is drained into a JDBC batch
+    @NotNull
+    private Duration flushInterval = Duration.ofMillis(250);
+
+    // Upper bound on intents written per stripe per flush; the rest waits for the next cycle
+    @Min(1)
+    private int maxBatchSize = 5000;
+
+    // Directory holding the append-only journal segments replayed on startup
+    @NotBlank
+    private String journalDirectory = "data/vote-journal";
+
+    // fsync every append (survives OS crashes) instead of only flushing to the page cache
+    private boolean fsync = false;
+}
@@ -4,7 +4,10 @@ import com.prajaavaani.backend.dto.AuthRequest;
 import com.prajaavaani.backend.dto.AuthResponse;
 import com.prajaavaani.backend.dto.VerifyOtpRequest;
 import com.prajaavaani.backend.service.AuthService;
+import com.prajaavaani.backend.service.OtpRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,24 +17,45 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final OtpRateLimiter otpRateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, OtpRateLimiter otpRateLimiter) {
         this.authService = authService;
+        this.otpRateLimiter = otpRateLimiter;
     }
 
     @PostMapping("/request-otp")
-    @ResponseStatus(HttpStatus.ACCEPTED) // Indicate request is accepted, processing happens async
-    public void requestOtp(@Valid @RequestBody AuthRequest authRequest) {
+    public ResponseEntity<Void> requestOtp(@Valid @RequestBody AuthRequest authRequest, HttpServletRequest request) {
+        // Checked before any OTP generation, SMS or DB work; rejection is a plain 429, no exception
+        long retryAfterMs = otpRateLimiter.tryAcquire(OtpRateLimiter.Endpoint.REQUEST_OTP,
+                authRequest.getMobileNumber(), request.getRemoteAddr());
+        if (retryAfterMs > 0) {
+            return tooManyRequests(retryAfterMs);
+        }
         authService.requestOtp(authRequest);
-        // No body needed, success indicated by 202 Accepted status
+        // No body needed, success indicated by 202 Accepted status (SMS delivery happens async)
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping("/verify-otp")
-    public ResponseEntity<AuthResponse> verifyOtp(@Valid @RequestBody VerifyOtpRequest verifyOtpRequest) {
+    public ResponseEntity<AuthResponse> verifyOtp(@Valid @RequestBody VerifyOtpRequest verifyOtpRequest,
+                                                  HttpServletRequest request) {
+        long retryAfterMs = otpRateLimiter.tryAcquire(OtpRateLimiter.Endpoint.VERIFY_OTP,
+                verifyOtpRequest.getMobileNumber(), request.getRemoteAddr());
+        if (retryAfterMs > 0) {
+            return tooManyRequests(retryAfterMs);
+        }
         AuthResponse response = authService.verifyOtp(verifyOtpRequest);
         // Return user details (and potentially token) on successful verification
         return ResponseEntity.ok(response); 
     }
 
+    // Client IP is getRemoteAddr(); behind a proxy set server.forward-headers-strategy so it reflects X-Forwarded-For
+    private static <T> ResponseEntity<T> tooManyRequests(long retryAfterMs) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString((retryAfterMs + 999) / 1000))
+                .build();
+    }
+
     // TODO: Add endpoints for logout, token refresh if using JWT
 }
@@ -1,20 +1,31 @@
 package com.prajaavaani.backend.controller;
 
+import com.prajaavaani.backend.dto.BatchVoteRequest;
+import com.prajaavaani.backend.dto.BatchVoteResponse;
 import com.prajaavaani.backend.dto.ConcernDto;
 import com.prajaavaani.backend.dto.CreateConcernRequest;
+import com.prajaavaani.backend.dto.CreatedConcernDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.dto.LeaderboardSliceDto;
+import com.prajaavaani.backend.dto.MergeConcernRequest;
 import com.prajaavaani.backend.dto.VoteRequest;
+import com.prajaavaani.backend.config.AuthenticatedUser;
+import com.prajaavaani.backend.exception.ConcernMergeException;
+import com.prajaavaani.backend.exception.ConcernNotFoundException;
 import com.prajaavaani.backend.model.GeographicLevel;
-import com.prajaavaani.backend.model.UserEntity; // Import UserEntity
-import com.prajaavaani.backend.repository.UserRepository; // Import UserRepository
 import com.prajaavaani.backend.service.ConcernService;
+import com.prajaavaani.backend.service.VoteIdempotencyStore;
+import com.prajaavaani.backend.service.VoteWriteBehindService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal; // Use this to get authenticated user details
-import org.springframework.security.core.userdetails.UserDetails; // Example user details type
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException; // For exceptions
 
@@ -25,18 +36,26 @@ import java.util.UUID;
 // @CrossOrigin
 public class ConcernController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final String TRENDING = "trending";
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final ConcernService concernService;
-    private final UserRepository userRepository; // Inject UserRepository
+    private final VoteWriteBehindService voteWriteBehindService;
+    private final VoteIdempotencyStore voteIdempotencyStore;
 
-    public ConcernController(ConcernService concernService, UserRepository userRepository) {
+    public ConcernController(ConcernService concernService, VoteWriteBehindService voteWriteBehindService,
+                             VoteIdempotencyStore voteIdempotencyStore) {
         this.concernService = concernService;
-        this.userRepository = userRepository;
+        this.voteWriteBehindService = voteWriteBehindService;
+        this.voteIdempotencyStore = voteIdempotencyStore;
     }
 
+    // The body is the created concern plus possibleDuplicates: existing concerns at the same location that read alike
     @PostMapping
-    public ResponseEntity<ConcernDto> createConcern(
+    public ResponseEntity<CreatedConcernDto> createConcern(
             @Valid @RequestBody CreateConcernRequest request,
-            @AuthenticationPrincipal UserDetails userDetails // Inject authenticated user details
+            @AuthenticationPrincipal AuthenticatedUser userDetails // Inject authenticated user details
     ) {
         if (userDetails == null) {
              // Should not happen if security is configured correctly, but good practice to check
@@ -44,48 +63,189 @@ public class ConcernController {
         }
         
         UUID authorId = getUserIdFromUserDetails(userDetails); // Extract user ID
-        ConcernDto createdConcern = concernService.createConcern(request, authorId);
+        CreatedConcernDto createdConcern = concernService.createConcern(request, authorId);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdConcern);
     }
 
+    // Folds a concern the caller posted into an existing one (typically one of its possibleDuplicates): the votes move
+    // to the canonical concern, which is returned, and this concern is deleted
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<ConcernDto> mergeConcern(
+            @PathVariable UUID id,
+            @Valid @RequestBody MergeConcernRequest request,
+            @AuthenticationPrincipal AuthenticatedUser userDetails
+    ) {
+        if (userDetails == null) {
+             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        UUID userId = getUserIdFromUserDetails(userDetails);
+        try {
+            return ResponseEntity.ok(concernService.mergeConcern(id, request.getCanonicalId(), userId));
+        } catch (ConcernNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (ConcernMergeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("/leaderboard")
     public ResponseEntity<Page<ConcernDto>> getLeaderboard(
             @RequestParam GeographicLevel level,
             @RequestParam String locationIdentifier,
+            @RequestParam(defaultValue = "false") boolean rollup, // Include concerns from locations below this one
+            @RequestParam(required = false) String sort, // "trending" ranks by recent, time-decayed votes
+            @RequestParam(required = false) Integer preview, // Cut each concern's text to this many characters
             @PageableDefault(size = 20) Pageable pageable // Default page size 20. Sorting handled in service.
     ) {
-        Page<ConcernDto> leaderboardPage = concernService.getLeaderboard(level, locationIdentifier, pageable);
+        checkPreview(preview);
+        if (TRENDING.equalsIgnoreCase(sort)) {
+            // The same parameter also reached the Pageable as a property sort; drop it
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return ResponseEntity.ok(withPreview(concernService.getTrendingLeaderboard(level, locationIdentifier, unsorted), preview));
+        }
+        Page<ConcernDto> leaderboardPage = rollup
+                ? withPreview(concernService.getRolledUpLeaderboard(level, locationIdentifier, pageable), preview)
+                : concernService.getLeaderboard(level, locationIdentifier, pageable, preview);
         return ResponseEntity.ok(leaderboardPage);
     }
 
+    // Cursor-based alternative to /leaderboard for infinite scrolling: no OFFSET scan and no count(*) per window
+    @GetMapping("/leaderboard/scroll")
+    public ResponseEntity<LeaderboardSliceDto> scrollLeaderboard(
+            @RequestParam GeographicLevel level,
+            @RequestParam String locationIdentifier,
+            @RequestParam(required = false) String cursor, // nextCursor from the previous window; omit for the top
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Integer preview // Cut each concern's text to this many characters
+    ) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        checkPreview(preview);
+        LeaderboardCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = LeaderboardCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid leaderboard cursor.");
+            }
+        }
+        return ResponseEntity.ok(concernService.getLeaderboardSlice(level, locationIdentifier, after, size, preview));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<ConcernDto>> searchConcerns(
+            @RequestParam String q,
+            @RequestParam(required = false) GeographicLevel level, // Optional location filter; needs locationIdentifier
+            @RequestParam(required = false) String locationIdentifier,
+            @PageableDefault(size = 20) Pageable pageable // Results are ranked by relevance; sort is ignored
+    ) {
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must be 1 to " + MAX_QUERY_LENGTH + " characters");
+        }
+        if ((level == null) != (locationIdentifier == null || locationIdentifier.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "level and locationIdentifier must be given together");
+        }
+        return ResponseEntity.ok(concernService.searchConcerns(q, level, level == null ? null : locationIdentifier,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())));
+    }
+
+    // With an Idempotency-Key, a retry of the same vote gets the first response back (Idempotent-Replayed: true)
+    // instead of casting the vote again, which for a repeated vote of the same type would toggle it off
     @PostMapping("/vote")
+    @Operation(summary = "Cast, toggle or change the caller's vote on a concern")
+    @ApiResponse(responseCode = "200", description = "Vote applied; the body is the concern with its updated counts")
+    @ApiResponse(responseCode = "202", description = "Write-behind mode: the vote is queued and applied within the flush "
+            + "interval. The body is a ConcernDto with only id set; every other field is null or zero and must not be "
+            + "rendered as the concern's state. Re-read the concern for its counts.")
     public ResponseEntity<ConcernDto> castVote(
             @Valid @RequestBody VoteRequest request,
-            @AuthenticationPrincipal UserDetails userDetails // Inject authenticated user details
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @AuthenticationPrincipal AuthenticatedUser userDetails // Inject authenticated user details
     ) {
         if (userDetails == null) {
              return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         UUID userId = getUserIdFromUserDetails(userDetails); // Extract user ID
-        ConcernDto updatedConcern = concernService.castVote(request, userId);
-        return ResponseEntity.ok(updatedConcern);
+        if (idempotencyKey == null || !voteIdempotencyStore.isEnabled()) {
+            return voteResponse(concernService.castVote(request, userId), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > voteIdempotencyStore.getMaxKeyLength()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + voteIdempotencyStore.getMaxKeyLength() + " characters");
+        }
+        VoteIdempotencyStore.Claim claim = voteIdempotencyStore.claim(userId, idempotencyKey, request);
+        switch (claim.status()) {
+            case REPLAY:
+                return voteResponse(claim.response(), true);
+            case IN_PROGRESS:
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress.");
+            case MISMATCH:
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "This Idempotency-Key was already used for a different vote.");
+            default:
+                break;
+        }
+        ConcernDto updatedConcern;
+        try {
+            updatedConcern = concernService.castVote(request, userId);
+        } catch (RuntimeException e) {
+            voteIdempotencyStore.release(userId, idempotencyKey);
+            throw e;
+        }
+        voteIdempotencyStore.complete(userId, idempotencyKey, updatedConcern);
+        return voteResponse(updatedConcern, false);
+    }
+
+    // Offline-queued votes in one request: applied in order in a single transaction, one result per vote
+    @PostMapping("/votes:batch")
+    @Operation(summary = "Apply offline-queued votes in order")
+    @ApiResponse(responseCode = "200", description = "Votes applied; each result says how its vote resolved")
+    @ApiResponse(responseCode = "202", description = "Write-behind mode: the votes are queued and applied within the "
+            + "flush interval, so every result is ACCEPTED")
+    public ResponseEntity<BatchVoteResponse> castVotes(
+            @Valid @RequestBody BatchVoteRequest request,
+            @AuthenticationPrincipal AuthenticatedUser userDetails
+    ) {
+        if (userDetails == null) {
+             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        UUID userId = getUserIdFromUserDetails(userDetails);
+        BatchVoteResponse response = concernService.castVotes(request.getVotes(), userId);
+        if (voteWriteBehindService.isEnabled()) {
+            return ResponseEntity.accepted().body(response);
+        }
+        return ResponseEntity.ok(response);
     }
 
     // --- Helper ---
-    // Extracts the UserEntity UUID from UserDetails (which uses mobile number as username)
-    private UUID getUserIdFromUserDetails(UserDetails userDetails) {
+    private void checkPreview(Integer preview) {
+        if (preview != null && preview < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "preview must be at least 1");
+        }
+    }
+
+    // Rankings held in memory (trending, rolled up) are fetched with full text and cut here
+    private static Page<ConcernDto> withPreview(Page<ConcernDto> page, Integer preview) {
+        return preview == null ? page : page.map(dto -> dto.withTextPreview(preview));
+    }
+
+    private ResponseEntity<ConcernDto> voteResponse(ConcernDto concern, boolean replayed) {
+        // Vote is buffered and applied asynchronously when write-behind is on; the body carries only the concern ID
+        // (documented on the 202 response), and that same partial body is what idempotent retries replay
+        ResponseEntity.BodyBuilder response = voteWriteBehindService.isEnabled() ? ResponseEntity.accepted() : ResponseEntity.ok();
+        if (replayed) {
+            response.header("Idempotent-Replayed", "true");
+        }
+        return response.body(concern);
+    }
+
+
+    // The principal already carries the user's UUID (from the JWT), so no users lookup is needed
+    private UUID getUserIdFromUserDetails(AuthenticatedUser userDetails) {
         if (userDetails == null) {
              throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required."); 
         }
-        String mobileNumber = userDetails.getUsername();
-        // Fetch the UserEntity from the repository to get the UUID
-        UserEntity user = userRepository.findByMobileNumber(mobileNumber)
-                .orElseThrow(() -> {
-                     // This case should ideally not happen if the token is valid and user exists
-                     // but handle defensively.
-                     System.err.println("Error: User details found in token but user not found in DB: " + mobileNumber);
-                     return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "User inconsistency detected.");
-                 });
-        return user.getId();
+        return userDetails.getUserId();
      }
 }
@@ -0,0 +1,19 @@
+package com.prajaavaani.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+// Votes queued offline by a client, applied in order in one transaction
+@Data
+public class BatchVoteRequest {
+
+    public static final int MAX_VOTES = 100;
+
+    @NotEmpty(message = "At least one vote must be provided")
+    @Size(max = MAX_VOTES, message = "At most " + MAX_VOTES + " votes can be sent in one batch")
+    private List<@Valid VoteRequest> votes;
+}
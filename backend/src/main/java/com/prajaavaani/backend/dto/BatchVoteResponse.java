@@ -0,0 +1,16 @@
+package com.prajaavaani.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One result per submitted vote (same order), plus the resulting counts of each concern that changed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVoteResponse {
+    private List<BatchVoteResult> results;
+    private List<VoteCountsDto> counts; // Empty when votes are buffered (write-behind)
+}
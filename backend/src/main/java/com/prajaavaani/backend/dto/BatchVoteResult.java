@@ -0,0 +1,23 @@
+package com.prajaavaani.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVoteResult {
+    private UUID concernId;
+    private Status status;
+
+    public enum Status {
+        ADDED,     // New vote
+        REMOVED,   // Same vote again: toggled off
+        CHANGED,   // Switched between upvote and downvote
+        NOT_FOUND, // Concern does not exist; the rest of the batch is still applied
+        ACCEPTED   // Buffered for write-behind; applied shortly
+    }
+}
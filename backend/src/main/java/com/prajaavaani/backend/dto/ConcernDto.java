@@ -1,11 +1,15 @@
 package com.prajaavaani.backend.dto;
 
 import com.prajaavaani.backend.model.GeographicLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // Used by JPQL constructor expressions in ConcernRepository
 public class ConcernDto {
     private UUID id;
     private UUID authorId; // Can be null
@@ -53,5 +57,16 @@ public class ConcernDto {
         this.updatedAt = updatedAt;
     }
 
+    // Copy whose text is cut to at most length characters (this instance if the text is already that short).
+    // Used for leaderboard previews of concerns that are held in memory with their full text.
+    public ConcernDto withTextPreview(int length) {
+        if (text == null || text.length() <= length) {
+            return this;
+        }
+        int end = Character.isHighSurrogate(text.charAt(length - 1)) ? length - 1 : length;
+        return new ConcernDto(id, authorId, authorName, text.substring(0, end), upvotes, downvotes, netVotes,
+                geographicLevel, locationIdentifier, createdAt, updatedAt);
+    }
+
     // Add a constructor or static factory method for easy mapping from Entity if needed
 }
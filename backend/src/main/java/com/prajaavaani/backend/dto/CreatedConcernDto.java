@@ -0,0 +1,23 @@
+package com.prajaavaani.backend.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Response to posting a concern: the concern itself plus existing concerns that look like the same issue,
+// so the client can offer to merge it into one of them (POST /api/v1/concerns/{id}/merge)
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class CreatedConcernDto extends ConcernDto {
+    private List<DuplicateCandidateDto> possibleDuplicates; // Most similar first; empty when none were found
+
+    public CreatedConcernDto(ConcernDto concern, List<DuplicateCandidateDto> possibleDuplicates) {
+        super(concern.getId(), concern.getAuthorId(), concern.getAuthorName(), concern.getText(), concern.getUpvotes(),
+                concern.getDownvotes(), concern.getNetVotes(), concern.getGeographicLevel(),
+                concern.getLocationIdentifier(), concern.getCreatedAt(), concern.getUpdatedAt());
+        this.possibleDuplicates = possibleDuplicates;
+    }
+}
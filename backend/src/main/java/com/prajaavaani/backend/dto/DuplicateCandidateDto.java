@@ -0,0 +1,18 @@
+package com.prajaavaani.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// An existing concern at the same location that reads like the one just posted
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDto {
+    private UUID id;
+    private String text;
+    private int netVotes;
+    private double similarity; // Estimated share of words in common, 0 to 1
+}
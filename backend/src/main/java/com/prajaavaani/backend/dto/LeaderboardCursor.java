@@ -0,0 +1,51 @@
+package com.prajaavaani.backend.dto;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position of the last concern a client has seen on a leaderboard, in leaderboard order (netVotes, createdAt, id).
+// Clients treat the encoded form as opaque.
+public record LeaderboardCursor(int netVotes, LocalDateTime createdAt, UUID id) {
+
+    private static final int ENCODED_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public static LeaderboardCursor of(ConcernDto concern) {
+        return new LeaderboardCursor(concern.getNetVotes(), concern.getCreatedAt(), concern.getId());
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES);
+        buffer.putInt(netVotes);
+        buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(createdAt.getNano());
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // Throws IllegalArgumentException for anything that was not produced by encode()
+    public static LeaderboardCursor decode(String encoded) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Malformed leaderboard cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int netVotes = buffer.getInt();
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        if (nano < 0 || nano > 999_999_999) {
+            throw new IllegalArgumentException("Malformed leaderboard cursor");
+        }
+        LocalDateTime createdAt;
+        try {
+            createdAt = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Malformed leaderboard cursor", e);
+        }
+        return new LeaderboardCursor(netVotes, createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.prajaavaani.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One window of a cursor-paginated leaderboard. No total count is computed.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardSliceDto {
+    private List<ConcernDto> content;
+    private String nextCursor; // Pass back as ?cursor= to fetch the following window; null on the last one
+    private boolean hasNext;
+}
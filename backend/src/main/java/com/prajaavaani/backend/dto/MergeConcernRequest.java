@@ -0,0 +1,13 @@
+package com.prajaavaani.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class MergeConcernRequest {
+
+    @NotNull(message = "Canonical concern ID must be provided")
+    private UUID canonicalId; // The concern that keeps the votes
+}
@@ -0,0 +1,18 @@
+package com.prajaavaani.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Vote counters of one concern, without the rest of ConcernDto
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteCountsDto {
+    private UUID concernId;
+    private int upvotes;
+    private int downvotes;
+    private int netVotes;
+}
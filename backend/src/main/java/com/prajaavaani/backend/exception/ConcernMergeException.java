@@ -0,0 +1,7 @@
+package com.prajaavaani.backend.exception;
+
+public class ConcernMergeException extends RuntimeException {
+    public ConcernMergeException(String message) {
+        super(message);
+    }
+}
@@ -11,14 +11,18 @@ import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "concerns")
+@Table(name = "concerns", indexes = {
+    // Serves leaderboard reads in rank order, including keyset pagination seeks
+    @Index(name = "idx_concerns_leaderboard",
+           columnList = "geographic_level, location_identifier, net_votes DESC, created_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ConcernEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     // Optional relationship to the user who posted
@@ -26,6 +30,11 @@ public class ConcernEntity {
     @JoinColumn(name = "author_id") // Foreign key column in concerns table
     private UserEntity author; // Can be null if anonymous posting is allowed
 
+    // The same author_id column as a plain value, so reading the author's ID never goes through the lazy proxy.
+    // Written only through author; setAuthor keeps it in step so a just-saved entity has it too.
+    @Column(name = "author_id", insertable = false, updatable = false)
+    private UUID authorId;
+
     @Column(length = 100) // Optional author name provided at posting
     private String authorName;
 
@@ -60,6 +69,7 @@ public class ConcernEntity {
 
     public void setAuthor(UserEntity author) {
         this.author = author;
+        this.authorId = author != null ? author.getId() : null;
     }
 
     public void setAuthorName(String authorName) {
@@ -122,6 +132,10 @@ public class ConcernEntity {
         return author;
     }
 
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
     public void setNetVotes(Integer netVotes) {
         this.netVotes = netVotes;
     }
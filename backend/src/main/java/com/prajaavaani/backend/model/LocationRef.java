@@ -0,0 +1,5 @@
+package com.prajaavaani.backend.model;
+
+// A (level, identifier) pair naming one node of the location hierarchy, e.g. (PINCODE, "560001")
+public record LocationRef(GeographicLevel level, String identifier) {
+}
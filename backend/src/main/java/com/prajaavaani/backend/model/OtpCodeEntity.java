@@ -0,0 +1,29 @@
+package com.prajaavaani.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Pending OTP for the JDBC OTP store, shared by every application instance.
+@Entity
+@Table(name = "otp_codes", indexes = @Index(name = "idx_otp_codes_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpCodeEntity {
+
+    @Id
+    private String otpKey;
+
+    @Column(nullable = false)
+    private String code;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
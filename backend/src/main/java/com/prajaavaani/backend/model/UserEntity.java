@@ -17,7 +17,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 15) // Assuming mobile numbers might include country code later
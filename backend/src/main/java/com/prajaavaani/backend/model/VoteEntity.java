@@ -19,7 +19,7 @@ import org.hibernate.annotations.CreationTimestamp;
 public class VoteEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false) // Vote must belong to a user
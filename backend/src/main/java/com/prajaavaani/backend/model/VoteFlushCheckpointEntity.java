@@ -0,0 +1,38 @@
+package com.prajaavaani.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Highest journal sequence per write-behind instance and stripe whose votes are already applied to the database.
+// Updated in the same transaction as the flushed batch so journal replay never double counts. Journals are local
+// files, so each instance owns its own rows and never resumes from another instance's sequence.
+@Entity
+@Table(name = "vote_flush_checkpoints")
+@IdClass(VoteFlushCheckpointEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteFlushCheckpointEntity {
+
+    @Id
+    @Column(length = 64)
+    private String instanceId;
+
+    @Id
+    private Integer stripe;
+
+    @Column(nullable = false)
+    private Long lastSeq = 0L;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String instanceId;
+        private Integer stripe;
+    }
+}
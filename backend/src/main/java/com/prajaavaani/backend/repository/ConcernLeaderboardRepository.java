@@ -0,0 +1,25 @@
+package com.prajaavaani.backend.repository;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.model.GeographicLevel;
+
+import java.util.List;
+
+/**
+ * Leaderboard reads that select straight into ConcernDto, so rows are never hydrated as entities, snapshotted or
+ * dirty-checked. Order is net votes, then newest first, then ID (LeaderboardCache.RANKING mirrors it), served by
+ * idx_concerns_leaderboard. textLength cuts the text in the database, so a preview does not transfer the whole text.
+ */
+public interface ConcernLeaderboardRepository {
+
+    // textLength for the whole text: longer than any concern (CreateConcernRequest allows 5,000 characters)
+    // without overflowing the database's start + length arithmetic
+    int FULL_TEXT = 1_000_000;
+
+    List<ConcernDto> findLeaderboardPage(GeographicLevel level, String location, int textLength, long offset, int limit);
+
+    // Keyset (seek) window of up to limit concerns ranked below after, or from the top if after is null
+    List<ConcernDto> findLeaderboardWindow(GeographicLevel level, String location, LeaderboardCursor after, int textLength,
+                                           int limit);
+}
@@ -0,0 +1,90 @@
+package com.prajaavaani.backend.repository;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.model.GeographicLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Runs the JPQL on the EntityManager directly: going through @Query re-processes the query string on every call,
+// which on a 100-row page cost more than the entity hydration these queries avoid
+class ConcernLeaderboardRepositoryImpl implements ConcernLeaderboardRepository {
+
+    private static final String SELECT = "SELECT new com.prajaavaani.backend.dto.ConcernDto(c.id, c.authorId, c.authorName, "
+            + "SUBSTRING(c.text, 1, :textLength), c.upvotes, c.downvotes, c.netVotes, c.geographicLevel, "
+            + "c.locationIdentifier, c.createdAt, c.updatedAt) FROM ConcernEntity c "
+            + "WHERE c.geographicLevel = :level AND c.locationIdentifier = :location ";
+    private static final String ORDER = "ORDER BY c.netVotes DESC, c.createdAt DESC, c.id DESC";
+    // Native because HQL rejects a row-value comparison against parameters. The database can seek
+    // idx_concerns_leaderboard straight to the cursor with it; the equivalent OR chain is not an index bound,
+    // so deep windows would scan from the top of the location's range.
+    private static final String SEEK = "SELECT id, author_id, author_name, SUBSTRING(text, 1, :textLength) AS text, upvotes, "
+            + "downvotes, net_votes, geographic_level, location_identifier, created_at, updated_at FROM concerns "
+            + "WHERE geographic_level = :level AND location_identifier = :location "
+            + "AND (net_votes, created_at, id) < (:netVotes, :createdAt, :id) "
+            + "ORDER BY net_votes DESC, created_at DESC, id DESC";
+
+    private final EntityManager entityManager;
+
+    ConcernLeaderboardRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ConcernDto> findLeaderboardPage(GeographicLevel level, String location, int textLength, long offset, int limit) {
+        return query(SELECT + ORDER, level, location, textLength)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ConcernDto> findLeaderboardWindow(GeographicLevel level, String location, LeaderboardCursor after, int textLength,
+                                                  int limit) {
+        if (after == null) {
+            return query(SELECT + ORDER, level, location, textLength).setMaxResults(limit).getResultList();
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SEEK)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("author_id", UUID.class)
+                .addScalar("author_name", String.class)
+                .addScalar("text", String.class)
+                .addScalar("upvotes", Integer.class)
+                .addScalar("downvotes", Integer.class)
+                .addScalar("net_votes", Integer.class)
+                .addScalar("geographic_level", String.class)
+                .addScalar("location_identifier", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .setParameter("textLength", textLength)
+                .setParameter("level", level.name())
+                .setParameter("location", location)
+                .setParameter("netVotes", after.netVotes())
+                .setParameter("createdAt", after.createdAt())
+                .setParameter("id", after.id())
+                .setMaxResults(limit)
+                .getResultList();
+        List<ConcernDto> window = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            window.add(new ConcernDto((UUID) row[0], (UUID) row[1], (String) row[2], (String) row[3], (Integer) row[4],
+                    (Integer) row[5], (Integer) row[6], GeographicLevel.valueOf((String) row[7]), (String) row[8],
+                    (LocalDateTime) row[9], (LocalDateTime) row[10]));
+        }
+        return window;
+    }
+
+    private TypedQuery<ConcernDto> query(String jpql, GeographicLevel level, String location, int textLength) {
+        return entityManager.createQuery(jpql, ConcernDto.class)
+                .setParameter("level", level)
+                .setParameter("location", location)
+                .setParameter("textLength", textLength);
+    }
+}
@@ -1,18 +1,23 @@
 package com.prajaavaani.backend.repository;
 
+import com.prajaavaani.backend.dto.ConcernDto;
 import com.prajaavaani.backend.model.ConcernEntity;
 import com.prajaavaani.backend.model.GeographicLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ConcernRepository extends JpaRepository<ConcernEntity, UUID> {
+public interface ConcernRepository extends JpaRepository<ConcernEntity, UUID>, ConcernLeaderboardRepository {
 
     // Find concerns by geographic level and location identifier, ordered by net votes
     // Using Pageable for pagination support
@@ -25,13 +30,42 @@ public interface ConcernRepository extends JpaRepository<ConcernEntity, UUID> {
             String locationIdentifier,
             Pageable pageable);
 
-    // Example of a query to sort by calculated net votes directly (might need DB-specific functions)
-    // This is a simplified example and might need adjustments for specific DBs like PostgreSQL
-    @Query("SELECT c FROM ConcernEntity c WHERE c.geographicLevel = :level AND c.locationIdentifier = :location ORDER BY c.netVotes DESC")
-    Page<ConcernEntity> findAndSortByNetVotes(
-            @Param("level") GeographicLevel level,
-            @Param("location") String location,
-            Pageable pageable);
+    // Total for leaderboard pages (rows come from ConcernLeaderboardRepository)
+    long countByGeographicLevelAndLocationIdentifier(GeographicLevel geographicLevel, String locationIdentifier);
+
+    // Applies a vote delta in the database so concurrent voters never overwrite each other's counts.
+    // Returns the number of rows updated (0 if the concern does not exist).
+    @Modifying
+    @Query(value = "UPDATE concerns SET upvotes = upvotes + :du, downvotes = downvotes + :dd, net_votes = net_votes + :dn, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = :id", nativeQuery = true)
+    int applyVoteDelta(@Param("id") UUID id, @Param("du") int upvoteDelta, @Param("dd") int downvoteDelta, @Param("dn") int netDelta);
+
+    // Reads a concern straight into a DTO (no entity hydration or dirty tracking)
+    @Query("SELECT new com.prajaavaani.backend.dto.ConcernDto(c.id, c.authorId, c.authorName, c.text, c.upvotes, c.downvotes, "
+            + "c.netVotes, c.geographicLevel, c.locationIdentifier, c.createdAt, c.updatedAt) FROM ConcernEntity c WHERE c.id = :id")
+    Optional<ConcernDto> findDtoById(@Param("id") UUID id);
+
+    @Query("SELECT new com.prajaavaani.backend.dto.ConcernDto(c.id, c.authorId, c.authorName, c.text, c.upvotes, c.downvotes, "
+            + "c.netVotes, c.geographicLevel, c.locationIdentifier, c.createdAt, c.updatedAt) FROM ConcernEntity c WHERE c.id IN :ids")
+    List<ConcernDto> findDtosByIds(@Param("ids") Collection<UUID> ids);
+
+    // Which of the IDs exist, and where
+    @Query("SELECT c.id AS id, c.geographicLevel AS geographicLevel, c.locationIdentifier AS locationIdentifier "
+            + "FROM ConcernEntity c WHERE c.id IN :ids")
+    List<ConcernLocation> findLocations(@Param("ids") Collection<UUID> ids);
+
+    interface ConcernLocation {
+        UUID getId();
+
+        GeographicLevel getGeographicLevel();
+
+        String getLocationIdentifier();
+    }
+
+    // Deletes without loading the entity; returns 0 if the concern does not exist
+    @Modifying
+    @Query(value = "DELETE FROM concerns WHERE id = :id", nativeQuery = true)
+    int deleteConcern(@Param("id") UUID id);
 
     // Add other custom query methods as needed (e.g., find by author)
 }
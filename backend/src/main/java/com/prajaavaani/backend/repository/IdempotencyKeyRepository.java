@@ -0,0 +1,41 @@
+package com.prajaavaani.backend.repository;
+
+import com.prajaavaani.backend.model.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    // Claims the key for a request in progress; 0 if another request already holds it
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, response, created_at, expires_at) "
+            + "VALUES (:key, :fingerprint, NULL, :now, :expiresAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET response = :response WHERE idempotency_key = :key", nativeQuery = true)
+    int complete(@Param("key") String key, @Param("response") String response);
+
+    // Drops the key if it has expired, or if its request is still pending but was started before abandonedBefore
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :key AND (expires_at <= :now "
+            + "OR (response IS NULL AND created_at <= :abandonedBefore))", nativeQuery = true)
+    int deleteIfStale(@Param("key") String key, @Param("now") LocalDateTime now,
+                      @Param("abandonedBefore") LocalDateTime abandonedBefore);
+
+    // Releases a pending claim whose request failed
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :key AND response IS NULL", nativeQuery = true)
+    int deletePending(@Param("key") String key);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
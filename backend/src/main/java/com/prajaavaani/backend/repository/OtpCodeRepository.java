@@ -0,0 +1,44 @@
+package com.prajaavaani.backend.repository;
+
+import com.prajaavaani.backend.model.OtpCodeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OtpCodeRepository extends JpaRepository<OtpCodeEntity, String> {
+
+    // Single-statement writes so concurrent verifications on different nodes cannot both succeed.
+    // Each returns the affected row count.
+
+    @Modifying
+    @Query(value = "DELETE FROM otp_codes WHERE otp_key = :key", nativeQuery = true)
+    int deleteByKey(@Param("key") String key);
+
+    @Modifying
+    @Query(value = "INSERT INTO otp_codes (otp_key, code, attempts, expires_at) VALUES (:key, :code, 0, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("key") String key, @Param("code") String code, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Consumes the OTP if the code matches and it is still live
+    @Modifying
+    @Query(value = "DELETE FROM otp_codes WHERE otp_key = :key AND code = :code AND expires_at > :now "
+            + "AND attempts < :maxAttempts", nativeQuery = true)
+    int consumeIfMatches(@Param("key") String key, @Param("code") String code, @Param("now") LocalDateTime now,
+                         @Param("maxAttempts") int maxAttempts);
+
+    // Spends one attempt on a live OTP
+    @Modifying
+    @Query(value = "UPDATE otp_codes SET attempts = attempts + 1 WHERE otp_key = :key AND expires_at > :now "
+            + "AND attempts < :maxAttempts", nativeQuery = true)
+    int recordFailedAttempt(@Param("key") String key, @Param("now") LocalDateTime now,
+                            @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query(value = "DELETE FROM otp_codes WHERE expires_at <= :now OR attempts >= :maxAttempts", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
+}
@@ -2,7 +2,10 @@ package com.prajaavaani.backend.repository;
 
 import com.prajaavaani.backend.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -13,5 +16,12 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     // Custom query method to find a user by mobile number
     Optional<UserEntity> findByMobileNumber(String mobileNumber);
 
+    // Reads only the verification flag (used by the auth status cache); empty if the user no longer exists.
+    // Read-write so it is answered by the primary: a user created moments ago may not have reached a read
+    // replica yet, and a negative answer would be cached.
+    @Transactional
+    @Query("SELECT u.isVerified FROM UserEntity u WHERE u.id = :id")
+    Optional<Boolean> findVerifiedById(@Param("id") UUID id);
+
     // Add other custom query methods as needed
 }
@@ -0,0 +1,13 @@
+package com.prajaavaani.backend.repository;
+
+import com.prajaavaani.backend.model.VoteFlushCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VoteFlushCheckpointRepository extends JpaRepository<VoteFlushCheckpointEntity, VoteFlushCheckpointEntity.Key> {
+
+    List<VoteFlushCheckpointEntity> findByInstanceId(String instanceId);
+}
@@ -2,8 +2,13 @@ package com.prajaavaani.backend.repository;
 
 import com.prajaavaani.backend.model.VoteEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,5 +18,67 @@ public interface VoteRepository extends JpaRepository<VoteEntity, UUID> {
     // Find a vote by user ID and concern ID to check if a user has already voted
     Optional<VoteEntity> findByUserIdAndConcernId(UUID userId, UUID concernId);
 
+    // The methods below are compare-and-set style writes used by the vote hot path.
+    // Each returns the affected row count, which tells the caller which branch (new/toggle/change) actually happened.
+
+    // Inserts the vote unless the user already has one on this concern
+    @Modifying
+    @Query(value = "INSERT INTO votes (id, user_id, concern_id, vote_type, timestamp) "
+            + "VALUES (:id, :userId, :concernId, :voteType, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("userId") UUID userId, @Param("concernId") UUID concernId,
+                       @Param("voteType") String voteType);
+
+    // Removes the vote only if it still has the given type (toggle off)
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE user_id = :userId AND concern_id = :concernId AND vote_type = :voteType",
+            nativeQuery = true)
+    int deleteIfType(@Param("userId") UUID userId, @Param("concernId") UUID concernId, @Param("voteType") String voteType);
+
+    // Flips the vote only if it still has the expected type (change of vote)
+    @Modifying
+    @Query(value = "UPDATE votes SET vote_type = :newType WHERE user_id = :userId AND concern_id = :concernId "
+            + "AND vote_type = :oldType", nativeQuery = true)
+    int switchType(@Param("userId") UUID userId, @Param("concernId") UUID concernId,
+                   @Param("oldType") String oldType, @Param("newType") String newType);
+
+    // The user's current votes on any of the given concerns, without loading vote entities
+    @Query("SELECT v.concern.id AS concernId, v.voteType AS voteType FROM VoteEntity v "
+            + "WHERE v.user.id = :userId AND v.concern.id IN :concernIds")
+    List<ExistingVote> findUserVotes(@Param("userId") UUID userId, @Param("concernIds") Collection<UUID> concernIds);
+
+    interface ExistingVote {
+        UUID getConcernId();
+
+        VoteEntity.VoteType getVoteType();
+    }
+
+    // Every vote on the concern, without loading vote entities
+    @Query("SELECT v.user.id AS userId, v.voteType AS voteType FROM VoteEntity v WHERE v.concern.id = :concernId")
+    List<ConcernVote> findConcernVotes(@Param("concernId") UUID concernId);
+
+    // Users who voted on both concerns
+    @Query("SELECT v.user.id FROM VoteEntity v WHERE v.concern.id = :concernId "
+            + "AND v.user.id IN (SELECT o.user.id FROM VoteEntity o WHERE o.concern.id = :otherId)")
+    List<UUID> findCommonVoters(@Param("concernId") UUID concernId, @Param("otherId") UUID otherId);
+
+    // The two statements below merge one concern's votes into another: a user's vote on the target is kept,
+    // their vote on the source is dropped; every other source vote moves to the target
+
+    @Modifying
+    @Query(value = "DELETE FROM votes WHERE concern_id = :sourceId "
+            + "AND user_id IN (SELECT user_id FROM votes WHERE concern_id = :targetId)", nativeQuery = true)
+    int deleteVotesOfCommonVoters(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId);
+
+    @Modifying
+    @Query(value = "UPDATE votes SET concern_id = :targetId WHERE concern_id = :sourceId", nativeQuery = true)
+    int moveVotes(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId);
+
+    interface ConcernVote {
+        UUID getUserId();
+
+        VoteEntity.VoteType getVoteType();
+    }
+
     // Add other custom query methods as needed (e.g., count votes by type for a concern)
 }
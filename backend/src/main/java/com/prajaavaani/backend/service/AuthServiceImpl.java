@@ -14,6 +14,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 @Service
 public class AuthServiceImpl implements AuthService {
@@ -37,10 +39,10 @@ public class AuthServiceImpl implements AuthService {
         // 1. Generate and store OTP using OtpService
         String otp = otpService.generateAndStoreOtp(authRequest.getMobileNumber());
         
-        // 2. Send OTP via SMS service using OtpService
+        // 2. Queue the OTP SMS for asynchronous delivery
         try {
             otpService.sendOtpSms(authRequest.getMobileNumber(), otp);
-            log.info("OTP requested and sent successfully to {}", authRequest.getMobileNumber());
+            log.info("OTP requested and queued for delivery to {}", authRequest.getMobileNumber());
         } catch (Exception e) {
             // Log the error and potentially rethrow a service-specific exception
             log.error("Failed to send OTP for mobile number {}: {}", authRequest.getMobileNumber(), e.getMessage());
@@ -77,7 +79,9 @@ public class AuthServiceImpl implements AuthService {
 
         // 4. Build UserDetails (add roles if needed)
         User userDetails = new User(user.getMobileNumber(), "", Collections.emptyList());
-        String jwtToken = jwtService.generateToken(userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtService.USER_ID_CLAIM, user.getId().toString());
+        String jwtToken = jwtService.generateToken(claims, userDetails);
 
         // 5. Build response (optionally mask mobile number)
         AuthResponse response = new AuthResponse();
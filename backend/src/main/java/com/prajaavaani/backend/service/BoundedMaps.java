@@ -0,0 +1,22 @@
+package com.prajaavaani.backend.service;
+
+import java.util.Iterator;
+import java.util.Map;
+
+// Size bounding shared by the in-process caches that have no LRU order to evict by
+final class BoundedMaps {
+
+    private BoundedMaps() {
+    }
+
+    // Drops arbitrary entries until the map holds a tenth less than maxSize (at least one below it), so a full
+    // map is not trimmed again on every insert. Callers remove expired entries first.
+    static void dropArbitraryTenth(Map<?, ?> map, int maxSize) {
+        int excess = map.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<?> keys = map.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.ConcernSearchProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over concern text. Each term maps to a postings list of (document, term frequency)
+ * pairs in document order; a query is the intersection of its terms' postings (all terms must match), scored with
+ * BM25 and lifted by net votes. Only the postings and a few ints per concern are held, never the text itself.
+ *
+ * The index is built at startup by streaming the concerns table through a cursor and rebuilt every
+ * {@code rebuild-interval}; new concerns and vote counts are applied incrementally in between.
+ */
+@Service
+public class ConcernSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcernSearchIndex.class);
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ConcernSearchProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer queryTimer;
+
+    private volatile Index index = new Index();
+    private volatile boolean ready;
+    private final Object writeLock = new Object();
+    private List<ConcernDto> changedDuringRebuild; // guarded by writeLock; non-null while a rebuild runs
+    private ScheduledExecutorService rebuilder;
+
+    public ConcernSearchIndex(ConcernSearchProperties properties, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.queryTimer = Timer.builder("prajaavaani.search.query")
+                .description("Full-text concern search against the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("prajaavaani.search.documents", this, search -> search.index.size()).register(meterRegistry);
+        Gauge.builder("prajaavaani.search.terms", this, search -> search.index.termCount()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild();
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concern-search-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getRebuildInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Concern search index rebuild failed: {}", e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void onConcernCreated(ConcernDto concern) {
+        apply(concern);
+    }
+
+    public void onConcernUpdated(ConcernDto concern) {
+        apply(concern);
+    }
+
+    // Concern IDs at [offset, offset + limit) of the matches for query, optionally restricted to one location,
+    // plus the number of matches (capped at max-results)
+    public LeaderboardRollupService.RankedPage search(String query, GeographicLevel level, String locationIdentifier,
+                                                      long offset, int limit) {
+        long started = System.nanoTime();
+        try {
+            Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+            int maxResults = properties.getMaxResults();
+            if (!ready || terms.isEmpty() || offset >= maxResults) {
+                return new LeaderboardRollupService.RankedPage(List.of(), 0);
+            }
+            List<String> queryTerms = new ArrayList<>(terms).subList(0, Math.min(terms.size(), properties.getMaxQueryTerms()));
+            LocationRef location = level == null ? null : new LocationRef(level, locationIdentifier);
+            return index.search(queryTerms, location, (int) offset, (int) Math.min(limit, maxResults - offset),
+                    maxResults, properties.getVoteWeight());
+        } finally {
+            queryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void apply(ConcernDto concern) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (writeLock) {
+            index.put(concern.getId(), concern.getText(), concern.getGeographicLevel(), concern.getLocationIdentifier(),
+                    concern.getNetVotes());
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(concern);
+            }
+        }
+    }
+
+    // Streams concerns into a fresh index (one fetch of rows in memory at a time), then swaps it in, replaying
+    // the concerns created or voted on while it was being built. The scan runs in a read-only transaction because
+    // the PostgreSQL driver ignores the fetch size and buffers the whole result set while autocommit is on.
+    void rebuild() {
+        long started = System.nanoTime();
+        synchronized (writeLock) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        Index built = new Index();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(
+                        "SELECT id, text, geographic_level, location_identifier, net_votes FROM concerns");
+                statement.setFetchSize(500);
+                return statement;
+            }, rs -> {
+                built.put(rs.getObject(1, UUID.class), rs.getString(2), GeographicLevel.valueOf(rs.getString(3)),
+                        rs.getString(4), rs.getInt(5));
+            }));
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                changedDuringRebuild = null; // Keep serving the previous index
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            for (ConcernDto concern : changedDuringRebuild) {
+                built.put(concern.getId(), concern.getText(), concern.getGeographicLevel(),
+                        concern.getLocationIdentifier(), concern.getNetVotes());
+            }
+            changedDuringRebuild = null;
+            index = built;
+        }
+        ready = true;
+        log.info("Built concern search index: {} concerns, {} terms in {} ms", built.size(), built.termCount(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static final class Index {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<UUID, Integer> docIds = new HashMap<>();
+        private final Map<LocationRef, Integer> locationIds = new HashMap<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private UUID[] ids = new UUID[1024];
+        private int[] netVotes = new int[1024];
+        private int[] locations = new int[1024];
+        private int[] lengths = new int[1024];
+        private int size;
+        private long totalLength;
+
+        int size() {
+            return size;
+        }
+
+        int termCount() {
+            lock.readLock().lock();
+            try {
+                return postings.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Indexes a new concern, or only refreshes the vote count of one already indexed (concern text is immutable)
+        void put(UUID id, String text, GeographicLevel level, String locationIdentifier, int votes) {
+            lock.writeLock().lock();
+            try {
+                Integer existing = docIds.get(id);
+                if (existing != null) {
+                    netVotes[existing] = votes;
+                    return;
+                }
+                int doc = size;
+                if (doc == ids.length) {
+                    int capacity = doc * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    netVotes = Arrays.copyOf(netVotes, capacity);
+                    locations = Arrays.copyOf(locations, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                }
+                List<String> terms = TextTokenizer.tokenize(text);
+                Map<String, Integer> frequencies = new HashMap<>();
+                for (String term : terms) {
+                    frequencies.merge(term, 1, Integer::sum);
+                }
+                frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, frequency));
+                ids[doc] = id;
+                netVotes[doc] = votes;
+                locations[doc] = locationIds.computeIfAbsent(new LocationRef(level, locationIdentifier), ref -> locationIds.size());
+                lengths[doc] = terms.size();
+                docIds.put(id, doc);
+                totalLength += terms.size();
+                size = doc + 1;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        LeaderboardRollupService.RankedPage search(List<String> terms, LocationRef location, int offset, int limit,
+                                                   int maxResults, double voteWeight) {
+            lock.readLock().lock();
+            try {
+                Postings[] lists = new Postings[terms.size()];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postings.get(terms.get(i));
+                    if (lists[i] == null) {
+                        return new LeaderboardRollupService.RankedPage(List.of(), 0);
+                    }
+                }
+                int locationId = -1;
+                if (location != null) {
+                    Integer known = locationIds.get(location);
+                    if (known == null) {
+                        return new LeaderboardRollupService.RankedPage(List.of(), 0);
+                    }
+                    locationId = known;
+                }
+                // Drive the intersection from the rarest term
+                Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+                double[] idf = new double[lists.length];
+                for (int i = 0; i < lists.length; i++) {
+                    idf[i] = Math.log(1 + (size - lists[i].size + 0.5) / (lists[i].size + 0.5));
+                }
+                double averageLength = size == 0 ? 1 : (double) totalLength / size;
+                int keep = Math.min(offset + limit, maxResults);
+                // Min-heap of the best `keep` matches: {score, doc}
+                PriorityQueue<double[]> best = new PriorityQueue<>(keep + 1, (a, b) -> Double.compare(a[0], b[0]));
+                int[] cursors = new int[lists.length];
+                int matches = 0;
+                Postings driver = lists[0];
+                candidates:
+                for (int p = 0; p < driver.size; p++) {
+                    int doc = driver.docs[p];
+                    if (locationId >= 0 && locations[doc] != locationId) {
+                        continue;
+                    }
+                    double normalizer = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    double score = 0;
+                    for (int i = 0; i < lists.length; i++) {
+                        int at = i == 0 ? p : lists[i].seek(doc, cursors[i]);
+                        if (i > 0) {
+                            cursors[i] = at;
+                            if (at >= lists[i].size || lists[i].docs[at] != doc) {
+                                continue candidates;
+                            }
+                        }
+                        int frequency = lists[i].frequencies[at];
+                        score += idf[i] * frequency * (K1 + 1) / (frequency + normalizer);
+                    }
+                    score *= 1 + voteWeight * Math.log1p(Math.max(netVotes[doc], 0));
+                    matches++;
+                    if (best.size() < keep) {
+                        best.add(new double[]{score, doc});
+                    } else if (keep > 0 && score > best.peek()[0]) {
+                        best.poll();
+                        best.add(new double[]{score, doc});
+                    }
+                }
+                List<double[]> ranked = new ArrayList<>(best);
+                ranked.sort((a, b) -> Double.compare(b[0], a[0]));
+                List<UUID> page = new ArrayList<>(limit);
+                for (int i = offset; i < ranked.size(); i++) {
+                    page.add(ids[(int) ranked.get(i)[1]]);
+                }
+                return new LeaderboardRollupService.RankedPage(Collections.unmodifiableList(page), Math.min(matches, maxResults));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    // Documents containing one term, in increasing document order (documents are numbered as they are indexed)
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        // First position at or after from whose document is >= doc (galloping, then binary search)
+        int seek(int doc, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && docs[high] < doc) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size - 1);
+            int found = Arrays.binarySearch(docs, low, high + 1, doc);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+}
@@ -1,19 +1,48 @@
 package com.prajaavaani.backend.service;
 
+import com.prajaavaani.backend.dto.BatchVoteResponse;
 import com.prajaavaani.backend.dto.ConcernDto;
 import com.prajaavaani.backend.dto.CreateConcernRequest;
+import com.prajaavaani.backend.dto.CreatedConcernDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.dto.LeaderboardSliceDto;
 import com.prajaavaani.backend.dto.VoteRequest;
 import com.prajaavaani.backend.model.GeographicLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface ConcernService {
 
-    ConcernDto createConcern(CreateConcernRequest request, UUID authorId); // Pass authenticated user ID
+    // The response also lists existing concerns at the same location that look like the same issue
+    CreatedConcernDto createConcern(CreateConcernRequest request, UUID authorId); // Pass authenticated user ID
 
-    Page<ConcernDto> getLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable);
+    // Moves the votes of duplicateId (which userId must have posted) onto canonicalId at the same location and
+    // deletes duplicateId; a user who voted on both keeps their canonical vote. Returns the canonical concern.
+    ConcernDto mergeConcern(UUID duplicateId, UUID canonicalId, UUID userId);
 
+    // previewLength cuts each concern's text to that many characters; null returns the full text
+    Page<ConcernDto> getLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable, Integer previewLength);
+
+    // Cursor-paginated leaderboard; after == null starts from the top. Cost does not grow with depth.
+    LeaderboardSliceDto getLeaderboardSlice(GeographicLevel level, String locationIdentifier, LeaderboardCursor after, int size,
+                                            Integer previewLength);
+
+    // Leaderboard including concerns posted at any location below this one in the location hierarchy
+    Page<ConcernDto> getRolledUpLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable);
+
+    // Leaderboard ranked by recent voting activity (time-decayed score) instead of lifetime net votes
+    Page<ConcernDto> getTrendingLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable);
+
+    // Concerns whose text contains every term of query, best matches (weighted by net votes) first.
+    // level and locationIdentifier are either both null (anywhere) or both set.
+    Page<ConcernDto> searchConcerns(String query, GeographicLevel level, String locationIdentifier, Pageable pageable);
+
+    // With write-behind enabled the vote is only queued and the returned DTO has nothing but its id set
     ConcernDto castVote(VoteRequest request, UUID userId); // Pass authenticated user ID
+
+    // Applies the votes in order in one transaction, with castVote's toggle/change rules
+    BatchVoteResponse castVotes(List<VoteRequest> requests, UUID userId);
 }
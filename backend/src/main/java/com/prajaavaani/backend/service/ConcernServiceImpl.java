@@ -1,10 +1,21 @@
 package com.prajaavaani.backend.service;
 
+import com.prajaavaani.backend.dto.BatchVoteResponse;
+import com.prajaavaani.backend.dto.BatchVoteResult;
 import com.prajaavaani.backend.dto.ConcernDto;
 import com.prajaavaani.backend.dto.CreateConcernRequest;
+import com.prajaavaani.backend.dto.CreatedConcernDto;
+import com.prajaavaani.backend.dto.DuplicateCandidateDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.dto.LeaderboardSliceDto;
+import com.prajaavaani.backend.dto.VoteCountsDto;
 import com.prajaavaani.backend.dto.VoteRequest;
+import com.prajaavaani.backend.exception.ConcernMergeException;
+import com.prajaavaani.backend.exception.ConcernNotFoundException;
 import com.prajaavaani.backend.model.ConcernEntity;
 import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import com.prajaavaani.backend.model.TimeOrderedUuidGenerator;
 import com.prajaavaani.backend.model.UserEntity;
 import com.prajaavaani.backend.model.VoteEntity;
 import com.prajaavaani.backend.repository.ConcernRepository;
@@ -12,39 +23,74 @@ import com.prajaavaani.backend.repository.UserRepository;
 import com.prajaavaani.backend.repository.VoteRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Important for vote logic
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class ConcernServiceImpl implements ConcernService {
 
     private static final Logger log = LoggerFactory.getLogger(ConcernServiceImpl.class);
+    private static final int MAX_VOTE_ATTEMPTS = 3;
 
     private final ConcernRepository concernRepository;
     private final UserRepository userRepository;
     private final VoteRepository voteRepository;
+    private final VoteWriteBehindService voteWriteBehindService;
+    private final LeaderboardCache leaderboardCache;
+    private final LeaderboardRollupService leaderboardRollupService;
+    private final HotPathMetrics hotPathMetrics;
+    private final VoteAuditLog voteAuditLog;
+    private final VoteEventLog voteEventLog;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final ConcernSearchIndex concernSearchIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
 
-    public ConcernServiceImpl(ConcernRepository concernRepository, UserRepository userRepository, VoteRepository voteRepository) {
+    public ConcernServiceImpl(ConcernRepository concernRepository, UserRepository userRepository, VoteRepository voteRepository,
+                              VoteWriteBehindService voteWriteBehindService, LeaderboardCache leaderboardCache,
+                              LeaderboardRollupService leaderboardRollupService, HotPathMetrics hotPathMetrics,
+                              VoteAuditLog voteAuditLog, VoteEventLog voteEventLog, TrendingLeaderboard trendingLeaderboard,
+                              ConcernSearchIndex concernSearchIndex, NearDuplicateIndex nearDuplicateIndex) {
         this.concernRepository = concernRepository;
         this.userRepository = userRepository;
         this.voteRepository = voteRepository;
+        this.voteWriteBehindService = voteWriteBehindService;
+        this.leaderboardCache = leaderboardCache;
+        this.leaderboardRollupService = leaderboardRollupService;
+        this.hotPathMetrics = hotPathMetrics;
+        this.voteAuditLog = voteAuditLog;
+        this.voteEventLog = voteEventLog;
+        this.trendingLeaderboard = trendingLeaderboard;
+        this.concernSearchIndex = concernSearchIndex;
+        this.nearDuplicateIndex = nearDuplicateIndex;
     }
 
     @Override
     @Transactional // Ensure atomicity
-    public ConcernDto createConcern(CreateConcernRequest request, UUID authorId) {
-        // Find the author (assuming authorId is validated upstream, e.g., via security context)
-        UserEntity author = userRepository.findById(authorId)
-                .orElseThrow(() -> new RuntimeException("Author not found with ID: " + authorId)); // Replace with specific exception
+    public CreatedConcernDto createConcern(CreateConcernRequest request, UUID authorId) {
+        // authorId comes from the authenticated principal, so a reference is enough: no users query,
+        // and the author_id foreign key still rejects a user that no longer exists
+        UserEntity author = userRepository.getReferenceById(authorId);
 
         ConcernEntity concern = new ConcernEntity();
         concern.setAuthor(author); // Set the author relationship
@@ -55,103 +101,504 @@ public class ConcernServiceImpl implements ConcernService {
         // upvotes/downvotes/netVotes default to 0
         concern.setNetVotes(0);
 
-        ConcernEntity savedConcern = concernRepository.save(concern);
+        // Looked up before the insert, so the new concern is not among its own matches
+        List<NearDuplicateIndex.Match> matches = nearDuplicateIndex.findSimilar(request.getGeographicLevel(),
+                request.getLocationIdentifier(), request.getText());
+
+        // Flush so the generated timestamps are populated; leaderboard rankings order ties by createdAt
+        ConcernEntity savedConcern = concernRepository.saveAndFlush(concern);
         log.info("Created concern with ID: {}", savedConcern.getId());
-        return mapToDto(savedConcern);
+        ConcernDto created = mapToDto(savedConcern);
+        afterCommit(() -> {
+            leaderboardCache.onConcernCreated(created);
+            leaderboardRollupService.onConcernCreated(created);
+            concernSearchIndex.onConcernCreated(created);
+            nearDuplicateIndex.onConcernCreated(created);
+            trendingLeaderboard.onConcernCreated(created.getGeographicLevel(), created.getLocationIdentifier(),
+                    created.getId(), System.currentTimeMillis());
+        });
+        return new CreatedConcernDto(created, duplicateCandidates(matches));
+    }
+
+    // Current text and votes of the matched concerns, in match order
+    private List<DuplicateCandidateDto> duplicateCandidates(List<NearDuplicateIndex.Match> matches) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, ConcernDto> byId = new HashMap<>();
+        for (ConcernDto dto : concernRepository.findDtosByIds(matches.stream().map(NearDuplicateIndex.Match::concernId).toList())) {
+            byId.put(dto.getId(), dto);
+        }
+        List<DuplicateCandidateDto> candidates = new ArrayList<>(matches.size());
+        for (NearDuplicateIndex.Match match : matches) {
+            ConcernDto dto = byId.get(match.concernId());
+            if (dto != null) { // Merged away since it was indexed
+                candidates.add(new DuplicateCandidateDto(dto.getId(), dto.getText(), dto.getNetVotes(), match.similarity()));
+            }
+        }
+        return candidates;
+    }
+
+    @Override
+    @Transactional
+    public ConcernDto mergeConcern(UUID duplicateId, UUID canonicalId, UUID userId) {
+        if (duplicateId.equals(canonicalId)) {
+            throw new ConcernMergeException("A concern cannot be merged into itself");
+        }
+        Map<UUID, ConcernDto> byId = new HashMap<>();
+        for (ConcernDto dto : concernRepository.findDtosByIds(List.of(duplicateId, canonicalId))) {
+            byId.put(dto.getId(), dto);
+        }
+        ConcernDto duplicate = byId.get(duplicateId);
+        ConcernDto canonical = byId.get(canonicalId);
+        if (duplicate == null || canonical == null) {
+            throw new ConcernNotFoundException("Concern not found: " + (duplicate == null ? duplicateId : canonicalId));
+        }
+        if (!userId.equals(duplicate.getAuthorId())) {
+            throw new AccessDeniedException("Only the author of a concern can merge it");
+        }
+        if (duplicate.getGeographicLevel() != canonical.getGeographicLevel()
+                || !Objects.equals(duplicate.getLocationIdentifier(), canonical.getLocationIdentifier())) {
+            throw new ConcernMergeException("Only concerns at the same location can be merged");
+        }
+
+        // Read first so the counters and the event log know which votes move, then checked against the row counts
+        List<VoteRepository.ConcernVote> votes = voteRepository.findConcernVotes(duplicateId);
+        Set<UUID> commonVoters = new HashSet<>(voteRepository.findCommonVoters(duplicateId, canonicalId));
+        int upDelta = 0;
+        int downDelta = 0;
+        for (VoteRepository.ConcernVote vote : votes) {
+            if (!commonVoters.contains(vote.getUserId())) {
+                if (vote.getVoteType() == VoteEntity.VoteType.UPVOTE) {
+                    upDelta++;
+                } else {
+                    downDelta++;
+                }
+            }
+        }
+        if (voteRepository.deleteVotesOfCommonVoters(duplicateId, canonicalId) != commonVoters.size()
+                || voteRepository.moveVotes(duplicateId, canonicalId) != upDelta + downDelta) {
+            // Someone voted on either concern in between; roll back rather than miscount
+            throw new IllegalStateException("Votes on concern " + duplicateId + " changed during the merge; please retry");
+        }
+        concernRepository.deleteConcern(duplicateId);
+        if (upDelta + downDelta > 0) {
+            concernRepository.applyVoteDelta(canonicalId, upDelta, downDelta, upDelta - downDelta);
+        }
+        ConcernDto merged = concernRepository.findDtoById(canonicalId)
+                .orElseThrow(() -> new ConcernNotFoundException("Concern not found: " + canonicalId));
+        int netDelta = upDelta - downDelta;
+        GeographicLevel level = merged.getGeographicLevel();
+        String locationIdentifier = merged.getLocationIdentifier();
+        afterCommit(() -> {
+            nearDuplicateIndex.onConcernRemoved(level, locationIdentifier, duplicateId);
+            leaderboardCache.onConcernRemoved(duplicate);
+            // The rollup, trending and search rankings skip the deleted concern when a page is fetched
+            leaderboardRollupService.onConcernUpdated(merged);
+            concernSearchIndex.onConcernUpdated(merged);
+            trendingLeaderboard.onVote(level, locationIdentifier, canonicalId, netDelta, System.currentTimeMillis());
+            // Each vote leaves the duplicate and, unless its user already voted on the canonical concern, arrives there
+            for (VoteRepository.ConcernVote vote : votes) {
+                voteEventLog.append(vote.getUserId(), duplicateId, HotPathMetrics.VoteOutcome.TOGGLE_OFF, vote.getVoteType(),
+                        level, locationIdentifier);
+                if (!commonVoters.contains(vote.getUserId())) {
+                    voteEventLog.append(vote.getUserId(), canonicalId, HotPathMetrics.VoteOutcome.NEW, vote.getVoteType(),
+                            level, locationIdentifier);
+                }
+            }
+        });
+        log.info("Merged concern {} into {} ({} votes moved, {} dropped)", duplicateId, canonicalId,
+                upDelta + downDelta, commonVoters.size());
+        return merged;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ConcernDto> getLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable, Integer previewLength) {
+        long started = System.nanoTime();
+        try {
+            return fetchLeaderboard(level, locationIdentifier, pageable, previewLength);
+        } finally {
+            hotPathMetrics.recordLeaderboard(HotPathMetrics.LeaderboardView.PAGE, level, System.nanoTime() - started);
+        }
+    }
+
+    // Rows are selected straight into DTOs (see ConcernLeaderboardRepository); no entities are loaded
+    private Page<ConcernDto> fetchLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable, Integer previewLength) {
+        log.debug("Fetching leaderboard for Level: {}, Location: {}", level, locationIdentifier);
+
+        if (leaderboardCache.isEnabled() && leaderboardCache.isCacheable(pageable)) {
+            Optional<Page<ConcernDto>> cached = leaderboardCache.getPage(level, locationIdentifier, pageable);
+            if (cached.isPresent()) {
+                return previewLength == null ? cached.get() : cached.get().map(dto -> dto.withTextPreview(previewLength));
+            }
+            // Load the whole top-N once, with full text since every request shares it; this and later pages
+            // inside it are then served from memory
+            Page<ConcernDto> top = leaderboardPage(level, locationIdentifier, ConcernRepository.FULL_TEXT,
+                    PageRequest.of(0, leaderboardCache.getTopN()));
+            List<ConcernDto> ranked = top.getContent();
+            leaderboardCache.put(level, locationIdentifier, ranked, top.getTotalElements());
+            int from = (int) Math.min(pageable.getOffset(), ranked.size());
+            int to = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), ranked.size());
+            Page<ConcernDto> page = new PageImpl<>(ranked.subList(from, to), pageable, top.getTotalElements());
+            return previewLength == null ? page : page.map(dto -> dto.withTextPreview(previewLength));
+        }
+
+        return leaderboardPage(level, locationIdentifier, textLength(previewLength), pageable);
+    }
+
+    // count(*) runs only when the page is full or not the first (as Spring Data does for Page queries)
+    private Page<ConcernDto> leaderboardPage(GeographicLevel level, String locationIdentifier, int textLength, Pageable pageable) {
+        List<ConcernDto> content = concernRepository.findLeaderboardPage(level, locationIdentifier, textLength,
+                pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> concernRepository.countByGeographicLevelAndLocationIdentifier(level, locationIdentifier));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LeaderboardSliceDto getLeaderboardSlice(GeographicLevel level, String locationIdentifier, LeaderboardCursor after, int size,
+                                                   Integer previewLength) {
+        long started = System.nanoTime();
+        // One extra row tells whether there is a next window, instead of a count(*)
+        List<ConcernDto> dtos = concernRepository.findLeaderboardWindow(level, locationIdentifier, after,
+                textLength(previewLength), size + 1);
+        boolean hasNext = dtos.size() > size;
+        if (hasNext) {
+            dtos = dtos.subList(0, size);
+        }
+        String nextCursor = hasNext ? LeaderboardCursor.of(dtos.get(dtos.size() - 1)).encode() : null;
+        hotPathMetrics.recordLeaderboard(HotPathMetrics.LeaderboardView.SCROLL, level, System.nanoTime() - started);
+        return new LeaderboardSliceDto(dtos, nextCursor, hasNext);
+    }
+
+    private static int textLength(Integer previewLength) {
+        return previewLength == null ? ConcernRepository.FULL_TEXT : previewLength;
     }
 
     @Override
-    public Page<ConcernDto> getLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable) {
-        log.info("Fetching leaderboard for Level: {}, Location: {}, Page: {}", level, locationIdentifier, pageable.getPageNumber());
-        
-        // Use the repository method that sorts by net votes
-        // Note: Ensure pageable includes sort direction if needed, e.g., Sort.by(Sort.Direction.DESC, "netVotesAlias")
-        // If sorting in Java:
-        // Page<ConcernEntity> concernPage = concernRepository.findByGeographicLevelAndLocationIdentifier(level, locationIdentifier, pageable);
-        // List<ConcernDto> dtos = concernPage.getContent().stream()
-        //         .map(this::mapToDto)
-        //         .sorted((c1, c2) -> Integer.compare(c2.getNetVotes(), c1.getNetVotes())) // Sort DTOs
-        //         .collect(Collectors.toList());
-        // return new PageImpl<>(dtos, pageable, concernPage.getTotalElements());
-
-        // Using the JPQL query for sorting (adjust if needed)
-         Page<ConcernEntity> concernPage = concernRepository.findAndSortByNetVotes(level, locationIdentifier, pageable);
-         List<ConcernDto> dtos = concernPage.getContent().stream()
-                 .map(this::mapToDto)
-                 .collect(Collectors.toList());
-         return new PageImpl<>(dtos, pageable, concernPage.getTotalElements());
+    @Transactional(readOnly = true)
+    public Page<ConcernDto> getRolledUpLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable) {
+        long started = System.nanoTime();
+        try {
+            return fetchRolledUpLeaderboard(level, locationIdentifier, pageable);
+        } finally {
+            hotPathMetrics.recordLeaderboard(HotPathMetrics.LeaderboardView.ROLLUP, level, System.nanoTime() - started);
+        }
+    }
+
+    private Page<ConcernDto> fetchRolledUpLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable) {
+        if (!leaderboardRollupService.supports(level, locationIdentifier) || pageable.getSort().isSorted()) {
+            // Leaf locations (or no hierarchy loaded): the rolled-up view is the location's own leaderboard
+            return fetchLeaderboard(level, locationIdentifier, pageable, null);
+        }
+        LeaderboardRollupService.RankedPage ranked = leaderboardRollupService.page(level, locationIdentifier,
+                pageable.getOffset(), pageable.getPageSize());
+        return toPage(ranked, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ConcernDto> getTrendingLeaderboard(GeographicLevel level, String locationIdentifier, Pageable pageable) {
+        if (!trendingLeaderboard.isEnabled()) {
+            return getLeaderboard(level, locationIdentifier, pageable, null);
+        }
+        long started = System.nanoTime();
+        LeaderboardRollupService.RankedPage ranked = trendingLeaderboard.page(level, locationIdentifier,
+                pageable.getOffset(), pageable.getPageSize());
+        Page<ConcernDto> page = toPage(ranked, pageable);
+        hotPathMetrics.recordLeaderboard(HotPathMetrics.LeaderboardView.TRENDING, level, System.nanoTime() - started);
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ConcernDto> searchConcerns(String query, GeographicLevel level, String locationIdentifier, Pageable pageable) {
+        LeaderboardRollupService.RankedPage ranked = concernSearchIndex.search(query, level, locationIdentifier,
+                pageable.getOffset(), pageable.getPageSize());
+        return toPage(ranked, pageable);
+    }
+
+    // Fetches the concerns of an in-memory ranking by primary key, keeping the ranking's order
+    private Page<ConcernDto> toPage(LeaderboardRollupService.RankedPage ranked, Pageable pageable) {
+        Map<UUID, ConcernDto> byId = new HashMap<>();
+        if (!ranked.concernIds().isEmpty()) {
+            for (ConcernDto dto : concernRepository.findDtosByIds(ranked.concernIds())) {
+                byId.put(dto.getId(), dto);
+            }
+        }
+        List<ConcernDto> dtos = new ArrayList<>(ranked.concernIds().size());
+        for (UUID id : ranked.concernIds()) {
+            ConcernDto dto = byId.get(id);
+            if (dto != null) { // Deleted since the ranking was built
+                dtos.add(dto);
+            }
+        }
+        return new PageImpl<>(dtos, pageable, ranked.total());
     }
 
     @Override
     @Transactional // Crucial for consistent vote updates
     public ConcernDto castVote(VoteRequest request, UUID userId) {
-        log.info("Processing vote request: User ID {}, Concern ID {}, Type {}", userId, request.getConcernId(), request.getVoteType());
+        long started = System.nanoTime();
+        // Votes are not logged per request; VoteAuditLog records processed votes off-thread (sampled)
+        if (voteWriteBehindService.isEnabled()) {
+            // Buffered mode: the vote is journaled and applied by the background flusher,
+            // so only the concern ID is known here; counts are not read back.
+            voteWriteBehindService.enqueue(userId, request.getConcernId(), request.getVoteType());
+            ConcernDto accepted = new ConcernDto();
+            accepted.setId(request.getConcernId());
+            hotPathMetrics.recordVote(HotPathMetrics.VoteOutcome.BUFFERED, System.nanoTime() - started);
+            voteAuditLog.record(userId, request.getConcernId(), request.getVoteType(), HotPathMetrics.VoteOutcome.BUFFERED);
+            return accepted;
+        }
 
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found: " + userId)); // Use specific exception
-        ConcernEntity concern = concernRepository.findById(request.getConcernId())
-                .orElseThrow(() -> new RuntimeException("Concern not found: " + request.getConcernId())); // Use specific exception
+        // Each branch is a single compare-and-set write on votes followed by one atomic counter UPDATE,
+        // so neither the user nor the concern entity is loaded and concurrent voters cannot lose updates.
+        UUID concernId = request.getConcernId();
+        VoteEntity.VoteType voteType = request.getVoteType();
+        VoteEntity.VoteType opposite = voteType == VoteEntity.VoteType.UPVOTE ? VoteEntity.VoteType.DOWNVOTE : VoteEntity.VoteType.UPVOTE;
+        int upDelta;
+        int downDelta;
+        HotPathMetrics.VoteOutcome outcome;
+        int attempts = 0;
+        while (true) {
+            if (insertVote(userId, concernId, voteType) == 1) {
+                // New vote
+                log.debug("Casting new {} for concern {}", voteType, concernId);
+                upDelta = voteType == VoteEntity.VoteType.UPVOTE ? 1 : 0;
+                downDelta = voteType == VoteEntity.VoteType.DOWNVOTE ? 1 : 0;
+                outcome = HotPathMetrics.VoteOutcome.NEW;
+                break;
+            }
+            if (voteRepository.deleteIfType(userId, concernId, voteType.name()) == 1) {
+                // User is casting the same vote again - remove the vote (toggle off)
+                log.debug("Removing existing {} for concern {}", voteType, concernId);
+                upDelta = voteType == VoteEntity.VoteType.UPVOTE ? -1 : 0;
+                downDelta = voteType == VoteEntity.VoteType.DOWNVOTE ? -1 : 0;
+                outcome = HotPathMetrics.VoteOutcome.TOGGLE_OFF;
+                break;
+            }
+            if (voteRepository.switchType(userId, concernId, opposite.name(), voteType.name()) == 1) {
+                // User is changing their vote
+                log.debug("Changing vote to {} for concern {}", voteType, concernId);
+                upDelta = voteType == VoteEntity.VoteType.UPVOTE ? 1 : -1;
+                downDelta = -upDelta;
+                outcome = HotPathMetrics.VoteOutcome.CHANGE;
+                break;
+            }
+            // The same user's vote changed between statements (parallel request); re-evaluate against the new state
+            hotPathMetrics.voteRetried();
+            if (++attempts >= MAX_VOTE_ATTEMPTS) {
+                throw new IllegalStateException("Vote on concern " + concernId + " kept changing concurrently; please retry");
+            }
+        }
 
-        Optional<VoteEntity> existingVoteOpt = voteRepository.findByUserIdAndConcernId(userId, request.getConcernId());
+        if (concernRepository.applyVoteDelta(concernId, upDelta, downDelta, upDelta - downDelta) == 0) {
+            throw new ConcernNotFoundException("Concern not found: " + concernId);
+        }
+        ConcernDto updatedConcern = concernRepository.findDtoById(concernId)
+                .orElseThrow(() -> new ConcernNotFoundException("Concern not found: " + concernId));
+        HotPathMetrics.VoteOutcome recordedOutcome = outcome;
+        int netDelta = upDelta - downDelta;
+        afterCommit(() -> {
+            leaderboardCache.onConcernUpdated(updatedConcern);
+            leaderboardRollupService.onConcernUpdated(updatedConcern);
+            concernSearchIndex.onConcernUpdated(updatedConcern);
+            trendingLeaderboard.onVote(updatedConcern.getGeographicLevel(), updatedConcern.getLocationIdentifier(),
+                    concernId, netDelta, System.currentTimeMillis());
+            // Recorded here so the timing includes the commit
+            hotPathMetrics.recordVote(recordedOutcome, System.nanoTime() - started);
+            voteAuditLog.record(userId, concernId, voteType, recordedOutcome);
+            voteEventLog.append(userId, concernId, recordedOutcome, voteType,
+                    updatedConcern.getGeographicLevel(), updatedConcern.getLocationIdentifier());
+        });
+        return updatedConcern;
+    }
 
-        if (existingVoteOpt.isPresent()) {
-            // User has already voted on this concern
-            VoteEntity existingVote = existingVoteOpt.get();
-            if (existingVote.getVoteType() == request.getVoteType()) {
-                // User is casting the same vote again - remove the vote (toggle off)
-                log.debug("Removing existing {} for concern {}", existingVote.getVoteType(), concern.getId());
-                if (existingVote.getVoteType() == VoteEntity.VoteType.UPVOTE) {
-                    concern.setUpvotes(concern.getUpvotes() - 1);
-                } else {
-                    concern.setDownvotes(concern.getDownvotes() - 1);
+    @Override
+    @Transactional
+    public BatchVoteResponse castVotes(List<VoteRequest> requests, UUID userId) {
+        long started = System.nanoTime();
+        List<BatchVoteResult> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        if (voteWriteBehindService.isEnabled()) {
+            for (int i = 0; i < requests.size(); i++) {
+                VoteRequest request = requests.get(i);
+                voteWriteBehindService.enqueue(userId, request.getConcernId(), request.getVoteType());
+                voteAuditLog.record(userId, request.getConcernId(), request.getVoteType(), HotPathMetrics.VoteOutcome.BUFFERED);
+                results.set(i, new BatchVoteResult(request.getConcernId(), BatchVoteResult.Status.ACCEPTED));
+            }
+            hotPathMetrics.recordVoteBatch(requests.size(), System.nanoTime() - started);
+            return new BatchVoteResponse(results, List.of());
+        }
+
+        // Votes for the same concern are resolved together, in submission order
+        Map<UUID, List<Integer>> byConcern = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            byConcern.computeIfAbsent(requests.get(i).getConcernId(), id -> new ArrayList<>()).add(i);
+        }
+        Map<UUID, LocationRef> existing = new HashMap<>();
+        for (ConcernRepository.ConcernLocation concern : concernRepository.findLocations(byConcern.keySet())) {
+            existing.put(concern.getId(), new LocationRef(concern.getGeographicLevel(), concern.getLocationIdentifier()));
+        }
+        Map<UUID, VoteEntity.VoteType> current = new HashMap<>();
+        for (VoteRepository.ExistingVote vote : voteRepository.findUserVotes(userId, existing.keySet())) {
+            current.put(vote.getConcernId(), vote.getVoteType());
+        }
+
+        HotPathMetrics.VoteOutcome[] outcomes = new HotPathMetrics.VoteOutcome[requests.size()];
+        List<UUID> changed = new ArrayList<>();
+        for (Map.Entry<UUID, List<Integer>> entry : byConcern.entrySet()) {
+            UUID concernId = entry.getKey();
+            if (!existing.containsKey(concernId)) {
+                for (int i : entry.getValue()) {
+                    results.set(i, new BatchVoteResult(concernId, BatchVoteResult.Status.NOT_FOUND));
                 }
-                // Update netVotes
-                concern.setNetVotes(concern.getUpvotes() - concern.getDownvotes());
-                voteRepository.delete(existingVote);
-            } else {
-                // User is changing their vote
-                log.debug("Changing vote from {} to {} for concern {}", existingVote.getVoteType(), request.getVoteType(), concern.getId());
-                if (existingVote.getVoteType() == VoteEntity.VoteType.UPVOTE) {
-                    concern.setUpvotes(concern.getUpvotes() - 1);
-                    concern.setDownvotes(concern.getDownvotes() + 1);
-                } else {
-                    concern.setDownvotes(concern.getDownvotes() - 1);
-                    concern.setUpvotes(concern.getUpvotes() + 1);
+                continue;
+            }
+            VoteEntity.VoteType start = current.get(concernId);
+            int attempts = 0;
+            VoteEntity.VoteType end;
+            while (true) {
+                end = resolveVotes(start, requests, entry.getValue(), outcomes);
+                if (applyVoteTransition(userId, concernId, start, end)) {
+                    break;
                 }
-                // Update netVotes
-                concern.setNetVotes(concern.getUpvotes() - concern.getDownvotes());
-                existingVote.setVoteType(request.getVoteType());
-                voteRepository.save(existingVote); // Update existing vote record
-            }
-        } else {
-            // New vote
-            log.debug("Casting new {} for concern {}", request.getVoteType(), concern.getId());
-            VoteEntity newVote = new VoteEntity();
-            newVote.setUser(user);
-            newVote.setConcern(concern);
-            newVote.setVoteType(request.getVoteType());
-            if (request.getVoteType() == VoteEntity.VoteType.UPVOTE) {
-                concern.setUpvotes(concern.getUpvotes() + 1);
-            } else {
-                concern.setDownvotes(concern.getDownvotes() + 1);
+                // The same user's vote changed since the bulk read (parallel request); re-resolve from its new state
+                hotPathMetrics.voteRetried();
+                if (++attempts >= MAX_VOTE_ATTEMPTS) {
+                    throw new IllegalStateException("Vote on concern " + concernId + " kept changing concurrently; please retry");
+                }
+                List<VoteRepository.ExistingVote> reread = voteRepository.findUserVotes(userId, List.of(concernId));
+                start = reread.isEmpty() ? null : reread.get(0).getVoteType();
+            }
+            int upDelta = (end == VoteEntity.VoteType.UPVOTE ? 1 : 0) - (start == VoteEntity.VoteType.UPVOTE ? 1 : 0);
+            int downDelta = (end == VoteEntity.VoteType.DOWNVOTE ? 1 : 0) - (start == VoteEntity.VoteType.DOWNVOTE ? 1 : 0);
+            if (upDelta != 0 || downDelta != 0) {
+                concernRepository.applyVoteDelta(concernId, upDelta, downDelta, upDelta - downDelta);
+                changed.add(concernId);
+            }
+            for (int i : entry.getValue()) {
+                results.set(i, new BatchVoteResult(concernId, batchStatus(outcomes[i])));
             }
-            // Update netVotes
-            concern.setNetVotes(concern.getUpvotes() - concern.getDownvotes());
-            voteRepository.save(newVote);
         }
 
-        ConcernEntity updatedConcern = concernRepository.save(concern); // Save updated vote counts
-        log.info("Vote processed for concern ID: {}. New counts: Up={}, Down={}", updatedConcern.getId(), updatedConcern.getUpvotes(), updatedConcern.getDownvotes());
-        return mapToDto(updatedConcern);
+        List<ConcernDto> updated = changed.isEmpty() ? List.of() : concernRepository.findDtosByIds(changed);
+        List<VoteCountsDto> counts = new ArrayList<>(updated.size());
+        for (ConcernDto dto : updated) {
+            counts.add(new VoteCountsDto(dto.getId(), dto.getUpvotes(), dto.getDownvotes(), dto.getNetVotes()));
+        }
+        afterCommit(() -> {
+            for (ConcernDto dto : updated) {
+                leaderboardCache.onConcernUpdated(dto);
+                leaderboardRollupService.onConcernUpdated(dto);
+                concernSearchIndex.onConcernUpdated(dto);
+            }
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < requests.size(); i++) {
+                HotPathMetrics.VoteOutcome outcome = outcomes[i];
+                if (outcome == null) {
+                    continue;
+                }
+                VoteRequest request = requests.get(i);
+                voteAuditLog.record(userId, request.getConcernId(), request.getVoteType(), outcome);
+                LocationRef location = existing.get(request.getConcernId());
+                voteEventLog.append(userId, request.getConcernId(), outcome, request.getVoteType(),
+                        location.level(), location.identifier());
+                trendingLeaderboard.onVote(location.level(), location.identifier(), request.getConcernId(),
+                        netDelta(outcome, request.getVoteType()), now);
+            }
+            hotPathMetrics.recordVoteBatch(requests.size(), System.nanoTime() - started);
+        });
+        return new BatchVoteResponse(results, counts);
     }
 
     // --- Helper Methods ---
 
-    // Maps ConcernEntity to ConcernDto
-    private ConcernDto mapToDto(ConcernEntity entity) {
+    // Applies the concern's votes (indices into requests) to the starting state with castVote's rules,
+    // filling in each vote's outcome; returns the resulting vote type (null = no vote)
+    private static VoteEntity.VoteType resolveVotes(VoteEntity.VoteType start, List<VoteRequest> requests, List<Integer> indices,
+                                                    HotPathMetrics.VoteOutcome[] outcomes) {
+        VoteEntity.VoteType state = start;
+        for (int i : indices) {
+            VoteEntity.VoteType voteType = requests.get(i).getVoteType();
+            if (state == null) {
+                outcomes[i] = HotPathMetrics.VoteOutcome.NEW;
+                state = voteType;
+            } else if (state == voteType) {
+                outcomes[i] = HotPathMetrics.VoteOutcome.TOGGLE_OFF;
+                state = null;
+            } else {
+                outcomes[i] = HotPathMetrics.VoteOutcome.CHANGE;
+                state = voteType;
+            }
+        }
+        return state;
+    }
+
+    // One compare-and-set write from start to end; false if the stored vote no longer matches start
+    private boolean applyVoteTransition(UUID userId, UUID concernId, VoteEntity.VoteType start, VoteEntity.VoteType end) {
+        if (start == end) {
+            return true;
+        }
+        if (start == null) {
+            return insertVote(userId, concernId, end) == 1;
+        }
+        if (end == null) {
+            return voteRepository.deleteIfType(userId, concernId, start.name()) == 1;
+        }
+        return voteRepository.switchType(userId, concernId, start.name(), end.name()) == 1;
+    }
+
+    private static BatchVoteResult.Status batchStatus(HotPathMetrics.VoteOutcome outcome) {
+        return switch (outcome) {
+            case NEW -> BatchVoteResult.Status.ADDED;
+            case TOGGLE_OFF -> BatchVoteResult.Status.REMOVED;
+            case CHANGE -> BatchVoteResult.Status.CHANGED;
+            case BUFFERED -> BatchVoteResult.Status.ACCEPTED;
+        };
+    }
+
+    private static int netDelta(HotPathMetrics.VoteOutcome outcome, VoteEntity.VoteType voteType) {
+        int sign = voteType == VoteEntity.VoteType.UPVOTE ? 1 : -1;
+        return switch (outcome) {
+            case NEW -> sign;
+            case TOGGLE_OFF -> -sign;
+            case CHANGE -> 2 * sign;
+            case BUFFERED -> 0;
+        };
+    }
+
+    // Defers in-memory side effects until the database change is durable; runs immediately outside a transaction
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Returns 1 if a new vote row was written, 0 if the user already had a vote on the concern
+    private int insertVote(UUID userId, UUID concernId, VoteEntity.VoteType voteType) {
+        try {
+            return voteRepository.insertIfAbsent(TimeOrderedUuidGenerator.next(), userId, concernId, voteType.name());
+        } catch (DataIntegrityViolationException e) {
+            // Only the foreign keys can fail here; the user comes from an authenticated principal,
+            // so in practice this means the concern does not exist.
+            throw new ConcernNotFoundException("Concern not found: " + concernId);
+        }
+    }
+
+    // Maps ConcernEntity to ConcernDto (package-private for ConcernMappingBenchmark)
+    ConcernDto mapToDto(ConcernEntity entity) {
         ConcernDto dto = new ConcernDto();
         dto.setId(entity.getId());
-        dto.setAuthorId(entity.getAuthor() != null ? entity.getAuthor().getId() : null);
+        dto.setAuthorId(entity.getAuthorId()); // Scalar column, so the lazy author is never loaded
         dto.setAuthorName(entity.getAuthorName());
         dto.setText(entity.getText());
         dto.setUpvotes(entity.getUpvotes());
@@ -0,0 +1,150 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.GeographicLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers and failure counters for the request hot paths. Every tagged meter is registered up front
+ * and looked up by enum ordinal, and callers pass raw System.nanoTime() deltas, so recording allocates
+ * nothing per request (no Timer.Sample, no tag arrays, no registry lookup). Timers publish SLO buckets
+ * instead of full percentile histograms to keep the Prometheus series count small.
+ */
+@Component
+public class HotPathMetrics {
+
+    public enum VoteOutcome {
+        NEW, TOGGLE_OFF, CHANGE, BUFFERED
+    }
+
+    public enum LeaderboardView {
+        PAGE, SCROLL, ROLLUP, TRENDING
+    }
+
+    public enum AuthFailure {
+        INVALID_TOKEN, INACTIVE_USER, INVALID_OTP, EXPIRED_OTP
+    }
+
+    private static final Duration[] VOTE_SLOS = millis(5, 10, 25, 50, 100, 250, 500, 1000);
+    private static final Duration[] LEADERBOARD_SLOS = millis(2, 5, 10, 25, 50, 100, 250, 500, 1000);
+    private static final Duration[] JWT_SLOS = micros(50, 100, 250, 500, 1000, 5000);
+    private static final Duration[] OTP_SLOS = millis(1, 5, 10, 25, 50, 100, 250);
+
+    private final Timer[] voteTimers = new Timer[VoteOutcome.values().length];
+    private final Timer[][] leaderboardTimers = new Timer[LeaderboardView.values().length][GeographicLevel.values().length];
+    private final Timer[] otpValidateTimers = new Timer[OtpStore.Result.values().length];
+    private final Counter[] authFailures = new Counter[AuthFailure.values().length];
+    private final Timer jwtVerifyTimer;
+    private final Timer otpGenerateTimer;
+    private final Counter voteRetries;
+    private final Timer voteBatchTimer;
+    private final DistributionSummary voteBatchSize;
+
+    public HotPathMetrics(MeterRegistry meterRegistry) {
+        for (VoteOutcome outcome : VoteOutcome.values()) {
+            voteTimers[outcome.ordinal()] = Timer.builder("prajaavaani.votes.process")
+                    .description("castVote including commit, by what the vote did")
+                    .tag("outcome", tagValue(outcome))
+                    .serviceLevelObjectives(VOTE_SLOS)
+                    .register(meterRegistry);
+        }
+        for (LeaderboardView view : LeaderboardView.values()) {
+            for (GeographicLevel level : GeographicLevel.values()) {
+                leaderboardTimers[view.ordinal()][level.ordinal()] = Timer.builder("prajaavaani.leaderboard.fetch")
+                        .description("Leaderboard read, cached or not")
+                        .tag("view", tagValue(view))
+                        .tag("level", tagValue(level))
+                        .serviceLevelObjectives(LEADERBOARD_SLOS)
+                        .register(meterRegistry);
+            }
+        }
+        for (OtpStore.Result result : OtpStore.Result.values()) {
+            otpValidateTimers[result.ordinal()] = Timer.builder("prajaavaani.auth.otp.validate")
+                    .tag("result", tagValue(result))
+                    .serviceLevelObjectives(OTP_SLOS)
+                    .register(meterRegistry);
+        }
+        for (AuthFailure failure : AuthFailure.values()) {
+            authFailures[failure.ordinal()] = Counter.builder("prajaavaani.auth.failures")
+                    .tag("reason", tagValue(failure))
+                    .register(meterRegistry);
+        }
+        jwtVerifyTimer = Timer.builder("prajaavaani.auth.jwt.verify")
+                .description("Bearer token signature/expiry check, including verified-token cache hits")
+                .serviceLevelObjectives(JWT_SLOS)
+                .register(meterRegistry);
+        otpGenerateTimer = Timer.builder("prajaavaani.auth.otp.generate")
+                .serviceLevelObjectives(OTP_SLOS)
+                .register(meterRegistry);
+        voteRetries = Counter.builder("prajaavaani.votes.contention.retries")
+                .description("Vote attempts re-evaluated because the same user's vote changed concurrently")
+                .register(meterRegistry);
+        voteBatchTimer = Timer.builder("prajaavaani.votes.batch")
+                .description("castVotes for a whole batch, including commit")
+                .serviceLevelObjectives(VOTE_SLOS)
+                .register(meterRegistry);
+        voteBatchSize = DistributionSummary.builder("prajaavaani.votes.batch.size")
+                .description("Votes per batch submission")
+                .register(meterRegistry);
+    }
+
+    public void recordVote(VoteOutcome outcome, long nanos) {
+        voteTimers[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordVoteBatch(int size, long nanos) {
+        voteBatchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        voteBatchSize.record(size);
+    }
+
+    public void voteRetried() {
+        voteRetries.increment();
+    }
+
+    public void recordLeaderboard(LeaderboardView view, GeographicLevel level, long nanos) {
+        leaderboardTimers[view.ordinal()][level.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtVerify(long nanos) {
+        jwtVerifyTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOtpGenerate(long nanos) {
+        otpGenerateTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOtpValidate(OtpStore.Result result, long nanos) {
+        otpValidateTimers[result.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void authFailed(AuthFailure failure) {
+        authFailures[failure.ordinal()].increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Duration[] millis(long... values) {
+        Duration[] durations = new Duration[values.length];
+        for (int i = 0; i < values.length; i++) {
+            durations[i] = Duration.ofMillis(values[i]);
+        }
+        return durations;
+    }
+
+    private static Duration[] micros(long... values) {
+        Duration[] durations = new Duration[values.length];
+        for (int i = 0; i < values.length; i++) {
+            durations[i] = Duration.ofNanos(values[i] * 1_000);
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,206 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpStoreProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node OTP store. Keys are spread over lock-striped shards; each shard files its entries in a
+ * timing wheel bucket by expiry tick, so the sweeper expires a tick's worth of entries without scanning
+ * the rest. Entries replaced or consumed before expiry stay in their bucket and are skipped when swept.
+ * Size is bounded: a full shard evicts its soonest-expiring entry.
+ */
+@Component
+@ConditionalOnProperty(prefix = "prajaavaani.otp.store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final OtpStoreProperties properties;
+    private final Shard[] shards;
+    private final long tickMillis;
+    private final long ttlMillis;
+    private final int maxEntriesPerShard;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter expired;
+    private final Counter evicted;
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryOtpStore(OtpStoreProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tickMillis = Math.max(1, properties.getTick().toMillis());
+        this.ttlMillis = properties.getTtl().toMillis();
+        // One slot per tick of TTL plus slack, so a bucket never holds entries from two laps of the wheel
+        int wheelSize = (int) (ttlMillis / tickMillis) + 2;
+        this.shards = new Shard[properties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(wheelSize, System.currentTimeMillis() / tickMillis);
+        }
+        this.maxEntriesPerShard = Math.max(1, properties.getMaxEntries() / shards.length);
+
+        Gauge.builder("prajaavaani.otp.store.size", size, AtomicInteger::get)
+                .description("Pending OTPs held in memory")
+                .register(meterRegistry);
+        expired = meterRegistry.counter("prajaavaani.otp.store.expired");
+        evicted = meterRegistry.counter("prajaavaani.otp.store.evicted");
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public void put(String key, String otp) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        Shard shard = shardFor(key);
+        shard.lock.lock();
+        try {
+            Entry entry = new Entry(key, otp, expiresAt);
+            if (shard.entries.put(key, entry) == null) {
+                size.incrementAndGet();
+                if (shard.entries.size() > maxEntriesPerShard) {
+                    shard.evictSoonestExpiring();
+                }
+            }
+            shard.bucket(expiryTick(expiresAt)).addLast(entry);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Result verify(String key, String otp) {
+        Shard shard = shardFor(key);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(key);
+            if (entry == null) {
+                return Result.ABSENT;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                // Sweeper has not reached this tick yet
+                shard.entries.remove(key);
+                size.decrementAndGet();
+                expired.increment();
+                return Result.ABSENT;
+            }
+            if (entry.otp.equals(otp)) {
+                shard.entries.remove(key);
+                size.decrementAndGet();
+                return Result.MATCHED;
+            }
+            if (++entry.attempts >= properties.getMaxAttempts()) {
+                shard.entries.remove(key);
+                size.decrementAndGet();
+            }
+            return Result.MISMATCHED;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    // Advances every shard's wheel to the current tick, dropping entries whose expiry tick has passed
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        long nowTick = now / tickMillis;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                // After a long stall one lap covers every bucket
+                long from = Math.max(shard.sweptTick + 1, nowTick - shard.wheel.size() + 1);
+                for (long tick = from; tick <= nowTick; tick++) {
+                    ArrayDeque<Entry> bucket = shard.bucket(tick);
+                    int remaining = bucket.size();
+                    while (remaining-- > 0) {
+                        Entry entry = bucket.pollFirst();
+                        if (entry.expiresAt > now) {
+                            bucket.addLast(entry);
+                        } else if (shard.entries.remove(entry.key, entry)) {
+                            size.decrementAndGet();
+                            expired.increment();
+                        }
+                    }
+                }
+                shard.sweptTick = nowTick;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private long expiryTick(long expiresAt) {
+        return (expiresAt + tickMillis - 1) / tickMillis;
+    }
+
+    private Shard shardFor(String key) {
+        return shards[Math.floorMod(key.hashCode(), shards.length)];
+    }
+
+    private final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Entry> entries = new HashMap<>();
+        final List<ArrayDeque<Entry>> wheel;
+        long sweptTick;
+
+        Shard(int wheelSize, long startTick) {
+            wheel = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                wheel.add(new ArrayDeque<>());
+            }
+            sweptTick = startTick;
+        }
+
+        ArrayDeque<Entry> bucket(long tick) {
+            return wheel.get((int) Math.floorMod(tick, (long) wheel.size()));
+        }
+
+        // Walks the wheel from the next tick to expire and removes the first live entry
+        void evictSoonestExpiring() {
+            for (int offset = 1; offset <= wheel.size(); offset++) {
+                ArrayDeque<Entry> bucket = bucket(sweptTick + offset);
+                while (!bucket.isEmpty()) {
+                    Entry candidate = bucket.pollFirst();
+                    if (entries.remove(candidate.key, candidate)) {
+                        size.decrementAndGet();
+                        evicted.increment();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final String otp;
+        final long expiresAt;
+        int attempts;
+
+        Entry(String key, String otp, long expiresAt) {
+            this.key = key;
+            this.otp = otp;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpStoreProperties;
+import com.prajaavaani.backend.repository.OtpCodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP store backed by the {@code otp_codes} table, for deployments running several instances.
+ * Verification is a conditional DELETE / UPDATE, so a code can be redeemed at most once cluster-wide.
+ * Expired rows are ignored by every query and purged periodically.
+ */
+@Component
+@ConditionalOnProperty(prefix = "prajaavaani.otp.store", name = "type", havingValue = "jdbc")
+public class JdbcOtpStore implements OtpStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcOtpStore.class);
+    private static final int MAX_PUT_ATTEMPTS = 3;
+
+    private final OtpCodeRepository otpCodeRepository;
+    private final OtpStoreProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private Counter expired;
+    private ScheduledExecutorService purger;
+
+    public JdbcOtpStore(OtpCodeRepository otpCodeRepository, OtpStoreProperties properties,
+                        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.otpCodeRepository = otpCodeRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("prajaavaani.otp.store.size", otpCodeRepository, OtpCodeRepository::count)
+                .description("Pending OTP rows, including expired rows not yet purged")
+                .register(meterRegistry);
+        expired = meterRegistry.counter("prajaavaani.otp.store.expired");
+
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-store-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = Math.max(1000, properties.getTick().toMillis());
+        purger.scheduleWithFixedDelay(this::purge, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    public void put(String key, String otp) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(properties.getTtl());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    otpCodeRepository.deleteByKey(key);
+                    otpCodeRepository.insert(key, otp, expiresAt);
+                });
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Another node stored an OTP for the same key between our delete and insert
+                if (attempt == MAX_PUT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Result verify(String key, String otp) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int maxAttempts = properties.getMaxAttempts();
+            if (otpCodeRepository.consumeIfMatches(key, otp, now, maxAttempts) == 1) {
+                return Result.MATCHED;
+            }
+            return otpCodeRepository.recordFailedAttempt(key, now, maxAttempts) == 1 ? Result.MISMATCHED : Result.ABSENT;
+        });
+    }
+
+    private void purge() {
+        try {
+            Integer removed = transactionTemplate.execute(status ->
+                    otpCodeRepository.deleteExpired(LocalDateTime.now(), properties.getMaxAttempts()));
+            if (removed != null && removed > 0) {
+                expired.increment(removed);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to purge expired OTPs: {}", e.getMessage());
+        }
+    }
+}
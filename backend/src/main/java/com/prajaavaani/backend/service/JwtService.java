@@ -1,6 +1,9 @@
 package com.prajaavaani.backend.service;
 
+import com.prajaavaani.backend.config.JwtTokenCacheProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,30 +12,73 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails; // Using Spring Security's UserDetails
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues and verifies the JWTs that authenticate API requests. With {@code prajaavaani.auth.token-cache} enabled,
+ * verified tokens are remembered until they expire so repeat requests skip signature verification. The cache is
+ * keyed by the SHA-256 digest of the token rather than the token itself: live bearer credentials never sit in the
+ * heap as map keys, and every key has the same small size however large the token.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret.key}")
-    private String secretKey;
+    // Claim holding the user's UUID, so authenticated requests need no users lookup
+    public static final String USER_ID_CLAIM = "uid";
 
-    @Value("${jwt.expiration.ms}")
-    private long jwtExpirationMs;
+    private final long jwtExpirationMs;
+    // Decoded once: building the HMAC key and parser per call used to dominate token verification
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final JwtTokenCacheProperties cacheProperties;
+    // Keyed by the Base64 SHA-256 of the token, so a hit still requires the exact same signed bytes
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
-    // Extracts username (in our case, mobile number) from the token
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public JwtService(@Value("${jwt.secret.key}") String secretKey,
+                      @Value("${jwt.expiration.ms}") long jwtExpirationMs,
+                      JwtTokenCacheProperties cacheProperties) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.cacheProperties = cacheProperties;
+    }
+
+    // Verifies signature and expiry once and returns everything the auth filter needs.
+    // Throws a JwtException (e.g. ExpiredJwtException, SignatureException) for any invalid token.
+    public VerifiedToken verify(String token) {
+        if (!cacheProperties.isEnabled()) {
+            return parse(token);
+        }
+        long now = System.currentTimeMillis();
+        String cacheKey = digest(token);
+        VerifiedToken cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return cached;
+            }
+            verifiedTokens.remove(cacheKey, cached);
+            throw new ExpiredJwtException(null, null, "JWT expired at " + new Date(cached.expiresAtMillis()));
+        }
+        VerifiedToken verified = parse(token);
+        if (verifiedTokens.size() >= cacheProperties.getMaxSize()) {
+            evict(now);
+        }
+        verifiedTokens.put(cacheKey, verified);
+        return verified;
     }
 
-    // Extracts a specific claim from the token
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    // Extracts username (in our case, mobile number) from the token
+    public String extractUsername(String token) {
+        return verify(token).subject();
     }
 
     // Generates a token for a UserDetails object
@@ -52,43 +98,42 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername()) // Use mobile number as subject
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // Validates the token against UserDetails
+    // Validates the token against UserDetails (the parser already rejects expired tokens)
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    // Checks if the token has expired
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token).subject().equals(userDetails.getUsername());
     }
 
-    // Extracts the expiration date from the token
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(),
+                userId == null ? null : UUID.fromString(userId),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime());
     }
 
-    // Parses all claims from the token
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    // Gets the signing key from the base64 encoded secret
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Removes expired tokens; if the cache is still full, drops an arbitrary tenth of it
+    private void evict(long now) {
+        verifiedTokens.values().removeIf(verified -> verified.expiresAtMillis() <= now);
+        BoundedMaps.dropArbitraryTenth(verifiedTokens, cacheProperties.getMaxSize());
     }
 }
@@ -0,0 +1,251 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.LeaderboardCacheProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory top-N leaderboard per (GeographicLevel, locationIdentifier).
+ *
+ * Boards are loaded once from the database and then kept sorted incrementally as concerns are created and voted on.
+ * A board only claims to be correct for its first {@code depth} positions: when an entry drops to the bottom of a
+ * truncated board it is removed, because a concern outside the top-N may now outrank it.
+ *
+ * Entries hold the full concern text, since requests without a preview length are served from them. Memory is
+ * therefore bounded both by the number of cached concerns ({@code max-entries}) and by the total length of their
+ * text ({@code max-text-chars}); loading a board that pushes either over its limit evicts the coldest boards.
+ */
+@Component
+public class LeaderboardCache {
+
+    // Leaderboard order: net votes, then newest first, then ID. Must match ConcernRepository.findLeaderboardPage.
+    public static final Comparator<ConcernDto> RANKING = Comparator
+            .comparingInt(ConcernDto::getNetVotes).reversed()
+            .thenComparing(ConcernDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ConcernDto::getId, (a, b) -> UuidOrder.compareUnsigned(b, a));
+
+    private final LeaderboardCacheProperties properties;
+    private final ConcurrentHashMap<LocationKey, Board> boards = new ConcurrentHashMap<>();
+    private final AtomicLong cachedEntries = new AtomicLong();
+    private final AtomicLong cachedTextChars = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public LeaderboardCache(LeaderboardCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = meterRegistry.counter("prajaavaani.leaderboard.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("prajaavaani.leaderboard.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("prajaavaani.leaderboard.cache.evictions");
+        Gauge.builder("prajaavaani.leaderboard.cache.entries", cachedEntries, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("prajaavaani.leaderboard.cache.text.chars", cachedTextChars, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("prajaavaani.leaderboard.cache.locations", this, LeaderboardCache::locationCount).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getTopN() {
+        return properties.getTopN();
+    }
+
+    // True if the page can be answered from a top-N board (whether or not one is currently loaded)
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.getSort().isUnsorted() && pageable.getOffset() + pageable.getPageSize() <= properties.getTopN();
+    }
+
+    // Serves the page from a fresh board covering it, counting the request as a hit or miss
+    public Optional<Page<ConcernDto>> getPage(GeographicLevel level, String locationIdentifier, Pageable pageable) {
+        Board board = boards.get(new LocationKey(level, locationIdentifier));
+        if (board != null && isCacheable(pageable)) {
+            board.lastRead = System.nanoTime();
+            Page<ConcernDto> page = board.page(pageable, System.nanoTime() - properties.getStaleness().toNanos());
+            if (page != null) {
+                hits.increment();
+                return Optional.of(page);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    // Installs a freshly loaded board. top must be in RANKING order and hold at most topN concerns.
+    public void put(GeographicLevel level, String locationIdentifier, List<ConcernDto> top, long total) {
+        Board board = new Board(new ArrayList<>(top), total, properties.getTopN());
+        Board previous = boards.put(new LocationKey(level, locationIdentifier), board);
+        board.account(1);
+        if (previous != null) {
+            previous.account(-1);
+        }
+        if (isOverLimit()) {
+            evictLeastRecentlyRead(board);
+        }
+    }
+
+    public void onConcernCreated(ConcernDto concern) {
+        Board board = peek(concern);
+        if (board != null) {
+            board.apply(concern, true);
+        }
+    }
+
+    public void onConcernUpdated(ConcernDto concern) {
+        Board board = peek(concern);
+        if (board != null) {
+            board.apply(concern, false);
+        }
+    }
+
+    // Rare (merges), so the location's board is simply dropped and reloaded on the next read
+    public void onConcernRemoved(ConcernDto concern) {
+        Board board = boards.remove(new LocationKey(concern.getGeographicLevel(), concern.getLocationIdentifier()));
+        if (board != null) {
+            board.account(-1);
+        }
+    }
+
+    // Writes do not refresh lastRead, so a location that is only voted on still ages out
+    private Board peek(ConcernDto concern) {
+        return boards.get(new LocationKey(concern.getGeographicLevel(), concern.getLocationIdentifier()));
+    }
+
+    private boolean isOverLimit() {
+        return cachedEntries.get() > properties.getMaxEntries() || cachedTextChars.get() > properties.getMaxTextChars();
+    }
+
+    // Evicts whole boards, coldest first, until back under both limits. Runs only when a board is loaded,
+    // which already costs a database round-trip, so the linear scan is not on the read path.
+    private synchronized void evictLeastRecentlyRead(Board keep) {
+        while (isOverLimit()) {
+            Map.Entry<LocationKey, Board> coldest = null;
+            for (Map.Entry<LocationKey, Board> entry : boards.entrySet()) {
+                if (entry.getValue() != keep && (coldest == null || entry.getValue().lastRead - coldest.getValue().lastRead < 0)) {
+                    coldest = entry;
+                }
+            }
+            if (coldest == null) {
+                return;
+            }
+            if (boards.remove(coldest.getKey(), coldest.getValue())) {
+                coldest.getValue().account(-1);
+                evictions.increment();
+            }
+        }
+    }
+
+    private double locationCount() {
+        return boards.size();
+    }
+
+    private static boolean isOlder(ConcernDto candidate, ConcernDto current) {
+        return candidate.getUpdatedAt() != null && current.getUpdatedAt() != null
+                && candidate.getUpdatedAt().isBefore(current.getUpdatedAt());
+    }
+
+    private static long textChars(ConcernDto concern) {
+        return concern.getText() == null ? 0 : concern.getText().length();
+    }
+
+    private record LocationKey(GeographicLevel level, String locationIdentifier) {
+    }
+
+    private final class Board {
+        private final List<ConcernDto> ranked;
+        private final long loadedAt = System.nanoTime();
+        private volatile long lastRead = loadedAt;
+        private final int capacity;
+        private long total;
+        // Whether ranked holds every concern of the location (nothing ranks below the last entry)
+        private boolean complete;
+        // Text length of the ranked concerns
+        private long textChars;
+        // Whether size and textChars are currently counted in the cache totals
+        private boolean accounted;
+
+        Board(List<ConcernDto> ranked, long total, int capacity) {
+            this.ranked = ranked;
+            this.total = total;
+            this.capacity = capacity;
+            this.complete = ranked.size() >= total;
+            for (ConcernDto concern : ranked) {
+                textChars += textChars(concern);
+            }
+        }
+
+        // Adds (sign 1) or removes (sign -1) this board's entries and text from the cache totals. Later changes are
+        // only counted while the board is installed, so a board replaced or evicted mid-update leaves no residue.
+        synchronized void account(int sign) {
+            accounted = sign > 0;
+            cachedEntries.addAndGet(sign * (long) ranked.size());
+            cachedTextChars.addAndGet(sign * textChars);
+        }
+
+        synchronized Page<ConcernDto> page(Pageable pageable, long freshAfter) {
+            if (loadedAt - freshAfter < 0) {
+                return null;
+            }
+            long end = pageable.getOffset() + pageable.getPageSize();
+            if (!complete && end > ranked.size()) {
+                return null; // Board was truncated below the requested window
+            }
+            int from = (int) Math.min(pageable.getOffset(), ranked.size());
+            int to = (int) Math.min(end, ranked.size());
+            return new PageImpl<>(Collections.unmodifiableList(new ArrayList<>(ranked.subList(from, to))), pageable, total);
+        }
+
+        // Repositions (or inserts) the concern and updates the cache totals
+        synchronized void apply(ConcernDto concern, boolean created) {
+            int before = ranked.size();
+            long charsBefore = textChars;
+            if (created) {
+                total++;
+            }
+            ConcernDto previous = null;
+            for (int i = 0; i < ranked.size(); i++) {
+                ConcernDto existing = ranked.get(i);
+                if (existing.getId().equals(concern.getId())) {
+                    if (isOlder(concern, existing)) {
+                        return; // A later update already landed (after-commit callbacks can run out of order)
+                    }
+                    previous = ranked.remove(i);
+                    textChars -= textChars(previous);
+                    break;
+                }
+            }
+            int position = Collections.binarySearch(ranked, concern, RANKING);
+            int insertAt = position >= 0 ? position : -position - 1;
+            // On a truncated board a concern that moves down to the last slot is left out: an unseen concern may
+            // outrank it. One that did not move down still outranks everything outside the board.
+            boolean notDemoted = previous != null && RANKING.compare(concern, previous) <= 0;
+            if (insertAt < ranked.size() || complete || notDemoted) {
+                ranked.add(insertAt, concern);
+                textChars += textChars(concern);
+            }
+            if (ranked.size() > capacity) {
+                textChars -= textChars(ranked.remove(ranked.size() - 1));
+                complete = false;
+            }
+            if (accounted) {
+                cachedEntries.addAndGet(ranked.size() - before);
+                cachedTextChars.addAndGet(textChars - charsBefore);
+            }
+        }
+    }
+}
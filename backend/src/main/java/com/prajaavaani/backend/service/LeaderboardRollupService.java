@@ -0,0 +1,292 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.LeaderboardRollupProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains a ranked top-K of concerns for every location that has descendants in the {@link LocationHierarchy},
+ * covering concerns posted at the location itself and at any location below it. A STATE leaderboard is then a read
+ * of one in-memory ranking plus a primary-key fetch of the page, instead of a fan-in query over every pincode.
+ *
+ * Rankings are built by streaming the concerns table once at startup (and every rebuild interval) and are updated
+ * incrementally as concerns are created or voted on.
+ */
+@Service
+public class LeaderboardRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardRollupService.class);
+
+    private static final Comparator<Ranked> ORDER = Comparator
+            .comparingInt(Ranked::netVotes).reversed()
+            .thenComparing(Ranked::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Ranked::id, (a, b) -> UuidOrder.compareUnsigned(b, a));
+
+    private final LeaderboardRollupProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile LocationHierarchy hierarchy = LocationHierarchy.empty();
+    private volatile Map<LocationRef, Ranking> rankings = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private final Object writeLock = new Object();
+    private List<ConcernDto> changedDuringRebuild; // guarded by writeLock; non-null while a rebuild runs
+    private ScheduledExecutorService rebuilder;
+
+    public LeaderboardRollupService(LeaderboardRollupProperties properties, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.getHierarchyFile() == null || properties.getHierarchyFile().isBlank()) {
+            log.warn("Leaderboard roll-up is enabled but prajaavaani.leaderboard.rollup.hierarchy-file is not set; roll-up disabled");
+            return;
+        }
+        hierarchy = LocationHierarchy.load(Path.of(properties.getHierarchyFile()), properties.getCountry());
+        rebuild();
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-rollup-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getRebuildInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Leaderboard roll-up rebuild failed: {}", e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    // True if level/location can be answered from a roll-up ranking
+    public boolean supports(GeographicLevel level, String locationIdentifier) {
+        return ready && hierarchy.hasDescendants(new LocationRef(level, locationIdentifier));
+    }
+
+    public int getTopK() {
+        return properties.getTopK();
+    }
+
+    // Concern IDs at [offset, offset + limit) of the rolled-up ranking, plus how many positions the ranking holds
+    public RankedPage page(GeographicLevel level, String locationIdentifier, long offset, int limit) {
+        Ranking ranking = rankings.get(new LocationRef(level, locationIdentifier));
+        if (ranking == null) {
+            return new RankedPage(Collections.emptyList(), 0);
+        }
+        return ranking.page(offset, limit);
+    }
+
+    public void onConcernCreated(ConcernDto concern) {
+        apply(concern, true);
+    }
+
+    public void onConcernUpdated(ConcernDto concern) {
+        apply(concern, false);
+    }
+
+    // Under writeLock so an update is either in the rankings a rebuild swaps in or replayed onto them, never lost
+    private void apply(ConcernDto concern, boolean created) {
+        synchronized (writeLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(concern);
+            }
+            if (ready) {
+                offer(rankings, concern, created);
+            }
+        }
+    }
+
+    private void offer(Map<LocationRef, Ranking> target, ConcernDto concern, boolean created) {
+        Ranked entry = new Ranked(concern.getId(), concern.getNetVotes(), concern.getCreatedAt());
+        for (LocationRef ref : hierarchy.rollupTargets(new LocationRef(concern.getGeographicLevel(), concern.getLocationIdentifier()))) {
+            // A target missing after a full build simply had no concerns yet, so an empty complete ranking is exact
+            target.computeIfAbsent(ref, missing -> new Ranking(new ArrayList<>(), 0, properties.getTopK()))
+                    .offer(entry, created);
+        }
+    }
+
+    // Streams concerns without hydrating entities (through a cursor, hence the read-only transaction)
+    // and swaps in freshly built rankings, replaying the concerns created or voted on while they were being built
+    synchronized void rebuild() {
+        long started = System.nanoTime();
+        synchronized (writeLock) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            build(started);
+        } finally {
+            synchronized (writeLock) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void build(long started) {
+        int topK = properties.getTopK();
+        Map<LocationRef, List<Ranked>> collected = new HashMap<>();
+        Map<LocationRef, LocationRef[]> targetsCache = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, geographic_level, location_identifier, net_votes, created_at FROM concerns");
+            statement.setFetchSize(1000);
+            return statement;
+        }, rs -> {
+            LocationRef location = new LocationRef(GeographicLevel.valueOf(rs.getString(2)), rs.getString(3));
+            LocationRef[] targets = targetsCache.computeIfAbsent(location,
+                    ref -> hierarchy.rollupTargets(ref).toArray(new LocationRef[0]));
+            if (targets.length == 0) {
+                return;
+            }
+            Timestamp createdAt = rs.getTimestamp(5);
+            Ranked entry = new Ranked(rs.getObject(1, UUID.class), rs.getInt(4),
+                    createdAt == null ? null : createdAt.toLocalDateTime());
+            for (LocationRef target : targets) {
+                collected.computeIfAbsent(target, ref -> new ArrayList<>()).add(entry);
+            }
+            // Keep per-target buffers bounded while streaming: sort and truncate once they reach 2K
+            for (LocationRef target : targets) {
+                List<Ranked> buffer = collected.get(target);
+                if (buffer.size() >= 2 * topK) {
+                    truncate(buffer, topK);
+                }
+            }
+        }));
+        Map<LocationRef, Ranking> built = new ConcurrentHashMap<>(collected.size());
+        Map<LocationRef, long[]> totals = countTotals(targetsCache);
+        collected.forEach((target, buffer) -> {
+            long total = totals.getOrDefault(target, new long[1])[0];
+            truncate(buffer, topK);
+            built.put(target, new Ranking(buffer, total, topK));
+        });
+        synchronized (writeLock) {
+            // Replayed as updates: the totals were counted after the scan, so they already include new concerns
+            for (ConcernDto concern : changedDuringRebuild) {
+                offer(built, concern, false);
+            }
+            changedDuringRebuild = null;
+            rankings = built;
+            ready = true;
+        }
+        log.info("Built leaderboard roll-up for {} locations in {} ms", built.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Concerns per roll-up target, from the per-location counts seen while streaming
+    private Map<LocationRef, long[]> countTotals(Map<LocationRef, LocationRef[]> targetsCache) {
+        Map<LocationRef, long[]> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT geographic_level, location_identifier, COUNT(*) FROM concerns GROUP BY geographic_level, location_identifier", rs -> {
+            LocationRef[] targets = targetsCache.get(new LocationRef(GeographicLevel.valueOf(rs.getString(1)), rs.getString(2)));
+            if (targets == null) {
+                return;
+            }
+            long count = rs.getLong(3);
+            for (LocationRef target : targets) {
+                totals.computeIfAbsent(target, ref -> new long[1])[0] += count;
+            }
+        });
+        return totals;
+    }
+
+    private static void truncate(List<Ranked> buffer, int topK) {
+        buffer.sort(ORDER);
+        if (buffer.size() > topK) {
+            buffer.subList(topK, buffer.size()).clear();
+        }
+    }
+
+    public record RankedPage(List<UUID> concernIds, long total) {
+    }
+
+    private record Ranked(UUID id, int netVotes, LocalDateTime createdAt) {
+    }
+
+    private static final class Ranking {
+        private final List<Ranked> ranked;
+        private final int capacity;
+        private long total;
+        private boolean complete;
+
+        Ranking(List<Ranked> ranked, long total, int capacity) {
+            this.ranked = ranked;
+            this.total = total;
+            this.capacity = capacity;
+            this.complete = ranked.size() >= total;
+        }
+
+        synchronized RankedPage page(long offset, int limit) {
+            int from = (int) Math.min(offset, ranked.size());
+            int to = (int) Math.min(offset + limit, ranked.size());
+            List<UUID> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add(ranked.get(i).id());
+            }
+            // Only the ranked depth is addressable; a truncated ranking cannot page past it
+            return new RankedPage(ids, complete ? total : ranked.size());
+        }
+
+        // Same truncation rule as LeaderboardCache: an entry that moves down to the bottom of a truncated ranking is dropped
+        synchronized void offer(Ranked entry, boolean created) {
+            if (created) {
+                total++;
+            }
+            Ranked previous = null;
+            for (int i = 0; i < ranked.size(); i++) {
+                if (ranked.get(i).id().equals(entry.id())) {
+                    previous = ranked.remove(i);
+                    break;
+                }
+            }
+            int position = Collections.binarySearch(ranked, entry, ORDER);
+            int insertAt = position >= 0 ? position : -position - 1;
+            // An entry that did not move down still outranks everything outside the ranking
+            boolean notDemoted = previous != null && ORDER.compare(entry, previous) <= 0;
+            if (insertAt < ranked.size() || complete || notDemoted) {
+                ranked.add(insertAt, entry);
+            }
+            if (ranked.size() > capacity) {
+                ranked.remove(ranked.size() - 1);
+                complete = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parent links between locations (PINCODE -> CITY -> DISTRICT -> STATE -> COUNTRY, or any subset of levels).
+ *
+ * Loaded from a CSV whose header names the GeographicLevel of each column, finest first, e.g.
+ * {@code pincode,city,district,state}. Each row links every non-empty value to the next non-empty value to its right;
+ * every state is linked to the configured country. When a location appears with two different parents the first wins.
+ */
+public class LocationHierarchy {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationHierarchy.class);
+
+    private final Map<LocationRef, LocationRef> parents;
+    private final Set<LocationRef> internalNodes;
+
+    private LocationHierarchy(Map<LocationRef, LocationRef> parents) {
+        this.parents = parents;
+        this.internalNodes = new HashSet<>(parents.values());
+    }
+
+    public static LocationHierarchy empty() {
+        return new LocationHierarchy(Collections.emptyMap());
+    }
+
+    public static LocationHierarchy load(Path csv, String country) {
+        Map<LocationRef, LocationRef> parents = new HashMap<>();
+        int conflicts = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return empty();
+            }
+            String[] columns = header.split(",", -1);
+            GeographicLevel[] levels = new GeographicLevel[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                levels[i] = GeographicLevel.valueOf(columns[i].trim().toUpperCase());
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] values = line.split(",", -1);
+                LocationRef child = null;
+                for (int i = 0; i < levels.length && i < values.length; i++) {
+                    String value = values[i].trim();
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    LocationRef node = new LocationRef(levels[i], value);
+                    if (child != null && link(parents, child, node)) {
+                        conflicts++;
+                    }
+                    child = node;
+                }
+                if (child != null && child.level() == GeographicLevel.STATE && country != null && !country.isBlank()) {
+                    link(parents, child, new LocationRef(GeographicLevel.COUNTRY, country));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read location hierarchy " + csv, e);
+        }
+        if (conflicts > 0) {
+            log.warn("Location hierarchy {} has {} locations mapped to more than one parent; kept the first mapping", csv, conflicts);
+        }
+        log.info("Loaded location hierarchy from {} with {} parent links", csv, parents.size());
+        return new LocationHierarchy(parents);
+    }
+
+    // Returns true if the child already had a different parent
+    private static boolean link(Map<LocationRef, LocationRef> parents, LocationRef child, LocationRef parent) {
+        LocationRef existing = parents.putIfAbsent(child, parent);
+        return existing != null && !existing.equals(parent);
+    }
+
+    // The location itself (if it has descendants) followed by every ancestor, nearest first
+    public List<LocationRef> rollupTargets(LocationRef location) {
+        List<LocationRef> targets = new ArrayList<>(5);
+        if (internalNodes.contains(location)) {
+            targets.add(location);
+        }
+        LocationRef current = parents.get(location);
+        while (current != null && targets.size() < GeographicLevel.values().length) { // bound guards against cycles in bad CSVs
+            targets.add(current);
+            current = parents.get(current);
+        }
+        return targets;
+    }
+
+    // True if rolled-up rankings are maintained for this location
+    public boolean hasDescendants(LocationRef location) {
+        return internalNodes.contains(location);
+    }
+}
@@ -0,0 +1,95 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteEventLogProperties;
+import com.prajaavaani.backend.model.LocationRef;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vote activity per location in fixed time buckets (e.g. the last 48 hours), folded from the event log.
+ * Each location keeps a ring of {@code trend-buckets} buckets, so memory is bounded per location.
+ */
+@Service
+public class LocationTrendProjection implements VoteProjection {
+
+    public static final String NAME = "location-trend";
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final Map<LocationRef, Series> series = new ConcurrentHashMap<>();
+
+    public LocationTrendProjection(VoteEventLogProperties properties) {
+        this.bucketMillis = properties.getTrendBucket().toMillis();
+        this.bucketCount = properties.getTrendBuckets();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(VoteEvent event) {
+        series.computeIfAbsent(new LocationRef(event.level(), event.locationIdentifier()), ref -> new Series(bucketCount))
+                .add(event.timestampMillis() / bucketMillis, event.upvoteDelta() - event.downvoteDelta());
+    }
+
+    @Override
+    public void reset() {
+        series.clear();
+    }
+
+    // Buckets of the location oldest first, ending with the bucket of the newest event; empty if there were none
+    public List<Bucket> trend(LocationRef location) {
+        Series locationSeries = series.get(location);
+        return locationSeries == null ? List.of() : locationSeries.snapshot(bucketMillis);
+    }
+
+    // Votes applied in [startMillis, startMillis + bucket) and their combined effect on net votes
+    public record Bucket(long startMillis, long events, long netDelta) {
+    }
+
+    private static final class Series {
+        private final long[] events;
+        private final long[] netDeltas;
+        private long newestBucket = Long.MIN_VALUE;
+
+        Series(int buckets) {
+            this.events = new long[buckets];
+            this.netDeltas = new long[buckets];
+        }
+
+        synchronized void add(long bucket, int netDelta) {
+            if (newestBucket == Long.MIN_VALUE) {
+                newestBucket = bucket;
+            }
+            if (bucket > newestBucket) {
+                // Clear the slots of buckets skipped since the newest one
+                for (long b = newestBucket + 1; b <= bucket && b <= newestBucket + events.length; b++) {
+                    int slot = (int) Math.floorMod(b, (long) events.length);
+                    events[slot] = 0;
+                    netDeltas[slot] = 0;
+                }
+                newestBucket = bucket;
+            } else if (bucket <= newestBucket - events.length) {
+                return; // Older than the window (clock skew between writers)
+            }
+            int slot = (int) Math.floorMod(bucket, (long) events.length);
+            events[slot]++;
+            netDeltas[slot] += netDelta;
+        }
+
+        synchronized List<Bucket> snapshot(long bucketMillis) {
+            List<Bucket> buckets = new ArrayList<>(events.length);
+            for (long b = newestBucket - events.length + 1; b <= newestBucket; b++) {
+                int slot = (int) Math.floorMod(b, (long) events.length);
+                buckets.add(new Bucket(b * bucketMillis, events[slot], netDeltas[slot]));
+            }
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.NearDuplicateProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Finds concerns at the same location whose text is nearly the same as a new one, so reposts of a popular issue
+ * can be pointed at (and merged into) the original instead of splitting its votes.
+ *
+ * Each text is reduced to a MinHash signature of its word set: for each of {@value #SLOTS} hash functions, the
+ * smallest hash of any word. Two signatures agree in a slot with probability equal to the Jaccard similarity of
+ * the word sets, so the fraction of agreeing slots estimates it. Only the low 16 bits of a slot are kept (unrelated
+ * slots then collide once in 65536, far below the estimator's own noise), so a concern costs about 150 bytes and
+ * no text is held. A location's signatures sit in one flat array that a lookup scans, giving up on a concern as
+ * soon as too many slots disagree; at a few thousand concerns per location that stays well under a millisecond
+ * without any banding tables to keep in memory.
+ *
+ * Built at startup by streaming the concerns table (and optionally every {@code rebuild-interval}); new concerns
+ * are added as they are created. Each location keeps its {@code max-per-location} most recent concerns and at most
+ * {@code max-entries} signatures are held in total.
+ */
+@Service
+public class NearDuplicateIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateIndex.class);
+    static final int SLOTS = 64;
+    private static final long[] SEEDS = new long[SLOTS];
+
+    static {
+        // Fixed seed so a signature means the same thing in every instance and across restarts
+        SplittableRandom random = new SplittableRandom(0x6E65617244757053L);
+        for (int i = 0; i < SLOTS; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private static final Comparator<Match> MOST_SIMILAR = Comparator
+            .comparingDouble(Match::similarity).reversed()
+            .thenComparing(Match::concernId);
+
+    private final NearDuplicateProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer lookupTimer;
+
+    private volatile Index index = new Index();
+    private final Object writeLock = new Object();
+    private List<Consumer<Index>> changedDuringRebuild; // guarded by writeLock; non-null while a rebuild runs
+    private ScheduledExecutorService rebuilder;
+
+    public NearDuplicateIndex(NearDuplicateProperties properties, JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.lookupTimer = Timer.builder("prajaavaani.concerns.duplicates.lookup")
+                .description("Near-duplicate lookup for a new concern against its location's signatures")
+                .register(meterRegistry);
+        Gauge.builder("prajaavaani.concerns.duplicates.entries", this, duplicates -> duplicates.index.size.get())
+                .register(meterRegistry);
+    }
+
+    // A concern that looks like the same issue; similarity is the estimated Jaccard similarity of the word sets
+    public record Match(UUID concernId, double similarity) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild();
+        if (properties.getRebuildInterval() == null) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "near-duplicate-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getRebuildInterval().toMillis();
+        rebuilder.scheduleWithFixedDelay(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Near-duplicate index rebuild failed: {}", e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Concerns at the location whose text is at least similarity-threshold similar to text, most similar first
+    public List<Match> findSimilar(GeographicLevel level, String locationIdentifier, String text) {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+        long started = System.nanoTime();
+        try {
+            short[] signature = signature(text);
+            Shelf shelf = index.shelves.get(new LocationRef(level, locationIdentifier));
+            if (signature == null || shelf == null) {
+                return List.of();
+            }
+            int minMatches = (int) Math.ceil(properties.getSimilarityThreshold() * SLOTS);
+            return shelf.find(signature, minMatches, properties.getMaxCandidates());
+        } finally {
+            lookupTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void onConcernCreated(ConcernDto concern) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        short[] signature = signature(concern.getText());
+        if (signature != null) {
+            LocationRef location = new LocationRef(concern.getGeographicLevel(), concern.getLocationIdentifier());
+            apply(target -> target.add(location, concern.getId(), signature));
+        }
+    }
+
+    // The concern was merged into another one or deleted
+    public void onConcernRemoved(GeographicLevel level, String locationIdentifier, UUID concernId) {
+        if (properties.isEnabled()) {
+            LocationRef location = new LocationRef(level, locationIdentifier);
+            apply(target -> target.remove(location, concernId));
+        }
+    }
+
+    private void apply(Consumer<Index> change) {
+        synchronized (writeLock) {
+            change.accept(index);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        }
+    }
+
+    // Streams concerns oldest first into a fresh index, so each location ends up holding its most recent ones,
+    // then swaps it in, replaying the concerns created or removed while it was being built. Read-only transaction
+    // so the PostgreSQL driver honours the fetch size instead of buffering every concern's text.
+    void rebuild() {
+        long started = System.nanoTime();
+        synchronized (writeLock) {
+            changedDuringRebuild = new ArrayList<>();
+        }
+        Index built = new Index();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(
+                        "SELECT id, text, geographic_level, location_identifier FROM concerns ORDER BY created_at");
+                statement.setFetchSize(500);
+                return statement;
+            }, rs -> {
+                short[] signature = signature(rs.getString(2));
+                if (signature != null) {
+                    built.add(new LocationRef(GeographicLevel.valueOf(rs.getString(3)), rs.getString(4)),
+                            rs.getObject(1, UUID.class), signature);
+                }
+            }));
+        } catch (RuntimeException e) {
+            synchronized (writeLock) {
+                changedDuringRebuild = null; // Keep serving the previous index
+            }
+            throw e;
+        }
+        synchronized (writeLock) {
+            for (Consumer<Index> change : changedDuringRebuild) {
+                change.accept(built);
+            }
+            changedDuringRebuild = null;
+            index = built;
+        }
+        log.info("Built near-duplicate index: {} concerns in {} locations in {} ms", built.size.get(),
+                built.shelves.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // MinHash signature of the text's distinct words; null when it has none
+    static short[] signature(String text) {
+        Set<String> words = new HashSet<>(TextTokenizer.tokenize(text));
+        if (words.isEmpty()) {
+            return null;
+        }
+        long[] minimums = new long[SLOTS];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        for (String word : words) {
+            long hash = hash(word);
+            for (int i = 0; i < SLOTS; i++) {
+                long slotHash = mix(hash ^ SEEDS[i]);
+                if (slotHash < minimums[i]) {
+                    minimums[i] = slotHash;
+                }
+            }
+        }
+        short[] signature = new short[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            signature[i] = (short) minimums[i];
+        }
+        return signature;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units
+    private static long hash(String word) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer: a bijection, so each seed gives an independent-looking permutation of the word hashes
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private final class Index {
+        private final ConcurrentHashMap<LocationRef, Shelf> shelves = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(LocationRef location, UUID concernId, short[] signature) {
+            Shelf shelf = shelves.computeIfAbsent(location, ref -> new Shelf());
+            if (shelf.add(concernId, signature, properties.getMaxPerLocation())
+                    && size.incrementAndGet() > properties.getMaxEntries()) {
+                evictLeastRecentlyAdded(shelf);
+            }
+        }
+
+        void remove(LocationRef location, UUID concernId) {
+            Shelf shelf = shelves.get(location);
+            if (shelf != null) {
+                shelf.remove(concernId);
+            }
+        }
+
+        // Linear scan, but only when an addition pushes the total over the limit
+        private void evictLeastRecentlyAdded(Shelf keep) {
+            while (size.get() > properties.getMaxEntries()) {
+                Map.Entry<LocationRef, Shelf> coldest = null;
+                for (Map.Entry<LocationRef, Shelf> entry : shelves.entrySet()) {
+                    if (entry.getValue() != keep && (coldest == null || entry.getValue().lastAdded < coldest.getValue().lastAdded)) {
+                        coldest = entry;
+                    }
+                }
+                if (coldest == null) {
+                    return;
+                }
+                shelves.remove(coldest.getKey());
+                size.addAndGet(-coldest.getValue().size);
+            }
+        }
+    }
+
+    // One location's signatures in insertion order; once full, the oldest slot is overwritten
+    private static final class Shelf {
+        private short[] signatures = new short[8 * SLOTS];
+        private long[] ids = new long[8 * 2]; // Most/least significant bits per slot; 0/0 marks a removed concern
+        private int size;
+        private int oldest; // Next slot to overwrite once the shelf is full
+        private volatile long lastAdded = System.nanoTime();
+
+        // Returns true if a slot was added rather than reused
+        synchronized boolean add(UUID concernId, short[] signature, int capacity) {
+            lastAdded = System.nanoTime();
+            int slot;
+            boolean grew = size < capacity;
+            if (grew) {
+                if (size * 2 == ids.length) {
+                    int length = Math.min(size * 2, capacity);
+                    signatures = Arrays.copyOf(signatures, length * SLOTS);
+                    ids = Arrays.copyOf(ids, length * 2);
+                }
+                slot = size++;
+            } else {
+                slot = oldest;
+                oldest = (oldest + 1) % size;
+            }
+            System.arraycopy(signature, 0, signatures, slot * SLOTS, SLOTS);
+            ids[slot * 2] = concernId.getMostSignificantBits();
+            ids[slot * 2 + 1] = concernId.getLeastSignificantBits();
+            return grew;
+        }
+
+        synchronized void remove(UUID concernId) {
+            long most = concernId.getMostSignificantBits();
+            long least = concernId.getLeastSignificantBits();
+            for (int slot = 0; slot < size; slot++) {
+                if (ids[slot * 2] == most && ids[slot * 2 + 1] == least) {
+                    ids[slot * 2] = 0;
+                    ids[slot * 2 + 1] = 0;
+                    return;
+                }
+            }
+        }
+
+        synchronized List<Match> find(short[] signature, int minMatches, int limit) {
+            int allowedMisses = SLOTS - minMatches;
+            List<Match> matches = new ArrayList<>();
+            for (int slot = 0; slot < size; slot++) {
+                int base = slot * SLOTS;
+                int misses = 0;
+                for (int i = 0; i < SLOTS && misses <= allowedMisses; i++) {
+                    if (signatures[base + i] != signature[i]) {
+                        misses++;
+                    }
+                }
+                long most = ids[slot * 2];
+                long least = ids[slot * 2 + 1];
+                if (misses <= allowedMisses && (most != 0 || least != 0)) {
+                    matches.add(new Match(new UUID(most, least), (double) (SLOTS - misses) / SLOTS));
+                }
+            }
+            matches.sort(MOST_SIMILAR);
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        }
+    }
+}
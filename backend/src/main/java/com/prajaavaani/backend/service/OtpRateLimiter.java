@@ -0,0 +1,155 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Token-bucket limits for the OTP endpoints, keyed by mobile number and by client IP.
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (the GCRA form of a token
+ * bucket), so a check is one CAS with no locking or allocation. A bucket whose arrival time has passed
+ * is full again and carries no state, which is what lets the sweeper drop idle buckets without loss. Busy
+ * buckets are never dropped, so flooding a scope with new keys cannot reset anyone's limit; once a scope holds
+ * max-keys busy buckets, calls from keys it does not track yet are rejected until buckets go idle.
+ */
+@Component
+public class OtpRateLimiter {
+
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D");
+    // Minimum gap between the sweeps a full scope runs when new keys arrive
+    private static final long ROOM_SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    public enum Endpoint {
+        REQUEST_OTP, VERIFY_OTP
+    }
+
+    private final OtpRateLimitProperties properties;
+    private final Scope[] numberScopes = new Scope[Endpoint.values().length];
+    private final Scope[] ipScopes = new Scope[Endpoint.values().length];
+    private final ScheduledExecutorService sweeper;
+
+    public OtpRateLimiter(OtpRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        OtpRateLimitProperties.Endpoint requestOtp = properties.getRequestOtp();
+        OtpRateLimitProperties.Endpoint verifyOtp = properties.getVerifyOtp();
+        numberScopes[Endpoint.REQUEST_OTP.ordinal()] = new Scope(requestOtp.getPerNumber(), "request-otp", "number", meterRegistry);
+        ipScopes[Endpoint.REQUEST_OTP.ordinal()] = new Scope(requestOtp.getPerIp(), "request-otp", "ip", meterRegistry);
+        numberScopes[Endpoint.VERIFY_OTP.ordinal()] = new Scope(verifyOtp.getPerNumber(), "verify-otp", "number", meterRegistry);
+        ipScopes[Endpoint.VERIFY_OTP.ordinal()] = new Scope(verifyOtp.getPerIp(), "verify-otp", "ip", meterRegistry);
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepIdle, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    // Takes one token from the IP bucket and then the number bucket.
+    // Returns 0 if allowed, otherwise the milliseconds until a retry can succeed.
+    public long tryAcquire(Endpoint endpoint, String mobileNumber, String clientIp) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long waitNanos = ipScopes[endpoint.ordinal()].tryAcquire(clientIp, now);
+        if (waitNanos == 0) {
+            waitNanos = numberScopes[endpoint.ordinal()].tryAcquire(normalize(mobileNumber), now);
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    // Same subscriber whether written as +91XXXXXXXXXX, 91XXXXXXXXXX or XXXXXXXXXX
+    private static String normalize(String mobileNumber) {
+        if (mobileNumber == null) {
+            return "";
+        }
+        String digits = NON_DIGITS.matcher(mobileNumber).replaceAll("");
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    private void sweepIdle() {
+        long now = System.nanoTime();
+        for (Endpoint endpoint : Endpoint.values()) {
+            numberScopes[endpoint.ordinal()].sweepIdle(now);
+            ipScopes[endpoint.ordinal()].sweepIdle(now);
+        }
+    }
+
+    private final class Scope {
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        // Time one token takes to refill
+        final long emissionIntervalNanos;
+        // How far ahead of now the arrival time may run, i.e. capacity - 1 tokens of burst
+        final long burstNanos;
+        final Counter rejected;
+        // Earliest System.nanoTime() at which a full scope may sweep again
+        final AtomicLong nextRoomSweep = new AtomicLong(System.nanoTime());
+
+        Scope(OtpRateLimitProperties.Limit limit, String endpoint, String scope, MeterRegistry meterRegistry) {
+            this.emissionIntervalNanos = limit.getPeriod().toNanos() / limit.getCapacity();
+            this.burstNanos = emissionIntervalNanos * (limit.getCapacity() - 1);
+            this.rejected = Counter.builder("prajaavaani.auth.ratelimit.rejected")
+                    .tag("endpoint", endpoint)
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+            Gauge.builder("prajaavaani.auth.ratelimit.buckets", buckets, ConcurrentHashMap::size)
+                    .tag("endpoint", endpoint)
+                    .tag("scope", scope)
+                    .register(meterRegistry);
+        }
+
+        long tryAcquire(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= properties.getMaxKeys() && !makeRoom(now)) {
+                    // Every tracked caller is still limited; no bucket can go idle sooner than one refill
+                    rejected.increment();
+                    return emissionIntervalNanos;
+                }
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            while (true) {
+                long arrival = bucket.get();
+                long base = arrival - now > 0 ? arrival : now;
+                long wait = base - now - burstNanos;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (bucket.compareAndSet(arrival, base + emissionIntervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        void sweepIdle(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+
+        // Drops idle buckets, at most once per ROOM_SWEEP_INTERVAL_NANOS; returns whether there is room for a new key
+        boolean makeRoom(long now) {
+            long next = nextRoomSweep.get();
+            if (now - next >= 0 && nextRoomSweep.compareAndSet(next, now + ROOM_SWEEP_INTERVAL_NANOS)) {
+                sweepIdle(now);
+            }
+            return buckets.size() < properties.getMaxKeys();
+        }
+    }
+}
@@ -1,88 +1,72 @@
 package com.prajaavaani.backend.service;
 
-import com.prajaavaani.backend.config.TwilioConfig;
+import com.prajaavaani.backend.config.SmsProperties;
 import com.prajaavaani.backend.exception.InvalidOtpException;
 import com.prajaavaani.backend.exception.OtpSendingFailedException;
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.text.DecimalFormat;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.security.SecureRandom;
 
 @Service
 public class OtpServiceImpl implements OtpService {
 
     private static final Logger log = LoggerFactory.getLogger(OtpServiceImpl.class);
-    private final TwilioConfig twilioConfig;
-
-    public OtpServiceImpl(TwilioConfig twilioConfig) {
-        this.twilioConfig = twilioConfig;
-    }
-
-    // !!! WARNING: In-memory storage - NOT suitable for production or multi-instance deployments !!!
-    // Replace with Redis, Memcached, or database-backed storage for production.
-    private final Map<String, String> otpCache = new ConcurrentHashMap<>();
-    // Optional: Add expiration logic if using in-memory for testing
-    // private final Map<String, Long> otpExpiryCache = new ConcurrentHashMap<>();
-    // private static final long OTP_EXPIRY_DURATION_MS = TimeUnit.MINUTES.toMillis(5); // 5 minutes
-
-    @PostConstruct // Initialize Twilio client after properties are loaded
-    private void setupTwilio() {
-        try {
-             Twilio.init(twilioConfig.getAccountSid(), twilioConfig.getAuthToken());
-             log.info("Twilio client initialized successfully.");
-        } catch (Exception e) {
-            log.error("Failed to initialize Twilio client. Please check credentials.", e);
-            // Depending on requirements, you might want to prevent app startup here
+    // Shared and thread-safe: avoids a Random and DecimalFormat per request, and OTPs need a secure source
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Expiring, attempt-limited storage; in-memory by default, JDBC for multi-instance deployments
+    private final OtpStore otpStore;
+    // Delivers SMS on background workers so request-otp never waits on the provider
+    private final SmsDispatcher smsDispatcher;
+    // Stub sender's fixed code for load tests; null in any real deployment
+    private final String fixedOtp;
+    private final HotPathMetrics hotPathMetrics;
+
+    public OtpServiceImpl(OtpStore otpStore, SmsDispatcher smsDispatcher, SmsProperties smsProperties,
+                          HotPathMetrics hotPathMetrics) {
+        this.otpStore = otpStore;
+        this.smsDispatcher = smsDispatcher;
+        this.hotPathMetrics = hotPathMetrics;
+        this.fixedOtp = smsProperties.getSender() == SmsProperties.Sender.STUB ? smsProperties.getStub().getFixedOtp() : null;
+        if (fixedOtp != null) {
+            log.warn("Stub SMS sender with a fixed OTP is active; every login code is {}. Never use this outside load tests.", fixedOtp);
         }
     }
 
     @Override
     public String generateAndStoreOtp(String key) {
+        long started = System.nanoTime();
         // Generate 6-digit OTP
-        String otp = new DecimalFormat("000000").format(new Random().nextInt(999999));
-        log.debug("Generated OTP {} for key {}", otp, key);
+        String otp = fixedOtp != null ? fixedOtp : formatOtp(RANDOM.nextInt(1_000_000));
+        log.debug("Generated OTP for key {}", key);
 
-        // Store OTP (replace with proper cache implementation)
-        otpCache.put(key, otp);
-        // Optional: Store expiry time
-        // otpExpiryCache.put(key, System.currentTimeMillis() + OTP_EXPIRY_DURATION_MS);
+        // Store OTP, replacing any pending one for this key
+        otpStore.put(key, otp);
 
         log.info("Stored OTP for key {}", key); // Avoid logging OTP itself in production logs
+        hotPathMetrics.recordOtpGenerate(System.nanoTime() - started);
         return otp;
     }
 
     @Override
     public boolean validateOtp(String key, String otpToValidate) {
-        String storedOtp = otpCache.get(key);
-        // Optional: Check expiry
-        // Long expiryTime = otpExpiryCache.get(key);
-        // if (expiryTime == null || System.currentTimeMillis() > expiryTime) {
-        //     log.warn("OTP expired or not found for key {}", key);
-        //     otpCache.remove(key); // Clean up expired/invalid entry
-        //     otpExpiryCache.remove(key);
-        //     throw new InvalidOtpException("OTP expired or not found");
-        // }
-
-        if (storedOtp != null && storedOtp.equals(otpToValidate)) {
-            log.info("OTP validation successful for key {}", key);
-            otpCache.remove(key);
-            // otpExpiryCache.remove(key);
-            return true;
-        } else {
-            log.warn("OTP validation failed for key {}. Provided OTP did not match.", key);
-            otpCache.remove(key); // Remove after failed attempt for this simple implementation
-            // otpExpiryCache.remove(key);
-            throw new InvalidOtpException("Invalid OTP provided.");
+        long started = System.nanoTime();
+        OtpStore.Result result = otpStore.verify(key, otpToValidate);
+        hotPathMetrics.recordOtpValidate(result, System.nanoTime() - started);
+        switch (result) {
+            case MATCHED:
+                log.info("OTP validation successful for key {}", key);
+                return true;
+            case MISMATCHED:
+                log.warn("OTP validation failed for key {}. Provided OTP did not match.", key);
+                hotPathMetrics.authFailed(HotPathMetrics.AuthFailure.INVALID_OTP);
+                throw new InvalidOtpException("Invalid OTP provided.");
+            default:
+                log.warn("OTP expired or not found for key {}", key);
+                hotPathMetrics.authFailed(HotPathMetrics.AuthFailure.EXPIRED_OTP);
+                throw new InvalidOtpException("OTP expired or not found");
         }
     }
 
@@ -94,25 +78,22 @@ public class OtpServiceImpl implements OtpService {
              throw new OtpSendingFailedException("Invalid mobile number format.");
          }
          String messageBody = "Your Prajaavaani verification code is: " + otp;
-         log.info("DEVELOPMENT MODE: Would send SMS to {} with message: {}", formattedMobileNumber, messageBody);
-         // Uncomment the following code when you have a valid Twilio account
-         /*
-         try {
-             Message message = Message.creator(
-                             new PhoneNumber(formattedMobileNumber), // To number
-                             new PhoneNumber(twilioConfig.getPhoneNumber()), // From Twilio number
-                             messageBody)
-                     .create();
-
-             log.info("OTP SMS sent successfully to {}. SID: {}", formattedMobileNumber, message.getSid());
-
-         } catch (Exception e) {
-             log.error("Failed to send OTP SMS to {}: {}", formattedMobileNumber, e.getMessage());
+         if (!smsDispatcher.dispatch(formattedMobileNumber, messageBody)) {
+             log.error("SMS dispatch queue full; OTP for {} not queued", formattedMobileNumber);
              throw new OtpSendingFailedException("Failed to send OTP SMS");
          }
-         */
      }
 
+    // Zero-padded 6 digits
+    private static String formatOtp(int code) {
+        char[] digits = new char[6];
+        for (int i = digits.length - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + code % 10);
+            code /= 10;
+        }
+        return new String(digits);
+    }
+
     // Basic helper to ensure number is in E.164 format (e.g., +91XXXXXXXXXX)
     // Adapt this based on expected input format
     private String formatMobileNumber(String number) {
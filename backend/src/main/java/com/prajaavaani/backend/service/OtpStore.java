@@ -0,0 +1,22 @@
+package com.prajaavaani.backend.service;
+
+/**
+ * Storage for pending one-time passwords. Each key (the mobile number) holds at most one OTP,
+ * which expires after the configured TTL, is consumed by a successful check and is discarded
+ * once its wrong-attempt budget is used up.
+ */
+public interface OtpStore {
+
+    // Stores a fresh OTP for the key, replacing any pending one and resetting its attempt counter
+    void put(String key, String otp);
+
+    // Checks the code atomically: a match consumes the OTP, a mismatch spends one attempt
+    Result verify(String key, String otp);
+
+    enum Result {
+        MATCHED,
+        MISMATCHED,
+        // Never issued, expired, already used or out of attempts
+        ABSENT
+    }
+}
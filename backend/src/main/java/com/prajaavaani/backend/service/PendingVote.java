@@ -0,0 +1,10 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.VoteEntity;
+
+import java.util.UUID;
+
+// A vote intent accepted by the write-behind buffer but not yet applied to the database.
+// seq is monotonic per stripe and is what the journal checkpoint is compared against.
+public record PendingVote(long seq, UUID userId, UUID concernId, VoteEntity.VoteType voteType, long acceptedAtMillis) {
+}
@@ -0,0 +1,182 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.SmsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes SMS delivery off the request thread. Messages wait in a bounded queue drained by worker threads
+ * calling the configured {@link SmsSender}; failed sends are re-queued with exponential backoff, and
+ * messages that exhaust their attempts are written to the {@code prajaavaani.sms.deadletter} log.
+ * With {@code spring.threads.virtual.enabled} on Java 21+ the workers are virtual threads, like request handlers:
+ * they spend their time blocked on the provider's HTTP call, which then holds no platform thread.
+ */
+@Service
+public class SmsDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SmsDispatcher.class);
+    // Separate category so undelivered messages can be routed to their own appender
+    private static final Logger deadLetterLog = LoggerFactory.getLogger("prajaavaani.sms.deadletter");
+
+    private final SmsSender smsSender;
+    private final SmsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final BlockingQueue<SmsMessage> queue;
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private Timer sendTimer;
+    private Counter sent;
+    private Counter retried;
+    private Counter rejected;
+    private Counter deadLettered;
+
+    public SmsDispatcher(SmsSender smsSender, SmsProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        this.smsSender = smsSender;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("prajaavaani.sms.queue.size", queue, BlockingQueue::size)
+                .description("SMS messages waiting for a dispatch worker")
+                .register(meterRegistry);
+        sendTimer = Timer.builder("prajaavaani.sms.send")
+                .description("SMS provider call time, successful or not")
+                .register(meterRegistry);
+        sent = meterRegistry.counter("prajaavaani.sms.sent");
+        retried = meterRegistry.counter("prajaavaani.sms.retried");
+        rejected = meterRegistry.counter("prajaavaani.sms.rejected");
+        deadLettered = meterRegistry.counter("prajaavaani.sms.deadlettered");
+
+        ThreadFactory workerThreads = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("sms-dispatch-").getVirtualThreadFactory()
+                : daemonThreads("sms-dispatch-");
+        workers = Executors.newFixedThreadPool(properties.getWorkers(), workerThreads);
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.execute(this::drain);
+        }
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("sms-retry-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        retryScheduler.shutdownNow();
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        SmsMessage message;
+        while ((message = queue.poll()) != null) {
+            deadLetter(message, "shutdown");
+        }
+    }
+
+    // Queues a message for delivery; false when the queue is full and the message was not accepted
+    public boolean dispatch(String toNumber, String body) {
+        if (queue.offer(new SmsMessage(toNumber, body, 1))) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            SmsMessage message;
+            try {
+                message = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            deliver(message);
+        }
+    }
+
+    private void deliver(SmsMessage message) {
+        long start = System.nanoTime();
+        try {
+            smsSender.send(message.toNumber(), message.body());
+            sent.increment();
+        } catch (RuntimeException e) {
+            if (message.attempt() >= properties.getMaxAttempts()) {
+                deadLetter(message, e.getMessage());
+                return;
+            }
+            long backoffMs = backoffMillis(message.attempt());
+            log.warn("SMS to {} failed on attempt {} ({}); retrying in {} ms",
+                    mask(message.toNumber()), message.attempt(), e.getMessage(), backoffMs);
+            retried.increment();
+            SmsMessage retry = new SmsMessage(message.toNumber(), message.body(), message.attempt() + 1);
+            try {
+                retryScheduler.schedule(() -> requeue(retry), backoffMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                deadLetter(retry, "shutdown");
+            }
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void requeue(SmsMessage message) {
+        if (!queue.offer(message)) {
+            deadLetter(message, "queue full on retry");
+        }
+    }
+
+    // Exponential backoff from initialBackoff, capped at maxBackoff
+    private long backoffMillis(int attempt) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        int shift = Math.min(attempt - 1, 30);
+        return Math.min(max, initial << shift);
+    }
+
+    // The body carries the OTP, so only the recipient and attempt count are recorded
+    private void deadLetter(SmsMessage message, String reason) {
+        deadLettered.increment();
+        deadLetterLog.error("Undelivered SMS to {} after {} attempt(s): {}", mask(message.toNumber()), message.attempt(), reason);
+    }
+
+    private static String mask(String number) {
+        if (number == null || number.length() < 4) return "****";
+        return "****" + number.substring(number.length() - 4);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record SmsMessage(String toNumber, String body, int attempt) {
+    }
+}
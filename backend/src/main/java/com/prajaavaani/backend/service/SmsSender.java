@@ -0,0 +1,8 @@
+package com.prajaavaani.backend.service;
+
+// Delivers one SMS. Implementations may block; they run on SmsDispatcher worker threads and
+// signal a failed (retryable) delivery by throwing.
+public interface SmsSender {
+
+    void send(String toNumber, String body);
+}
@@ -0,0 +1,45 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.SmsProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Offline sender for development and load tests: logs instead of sending and can simulate provider latency and failures
+@Component
+@ConditionalOnProperty(prefix = "prajaavaani.sms", name = "sender", havingValue = "stub", matchIfMissing = true)
+public class StubSmsSender implements SmsSender {
+
+    private static final Logger log = LoggerFactory.getLogger(StubSmsSender.class);
+
+    private final SmsProperties.Stub properties;
+
+    public StubSmsSender(SmsProperties smsProperties) {
+        this.properties = smsProperties.getStub();
+    }
+
+    @Override
+    public void send(String toNumber, String body) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMs = properties.getLatency().toMillis();
+        long jitterMs = properties.getJitter().toMillis();
+        if (jitterMs > 0) {
+            delayMs += random.nextLong(jitterMs + 1);
+        }
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while simulating SMS delivery", e);
+            }
+        }
+        if (random.nextDouble() < properties.getFailureRate()) {
+            throw new IllegalStateException("Simulated SMS provider failure");
+        }
+        log.info("DEVELOPMENT MODE: Would send SMS to {} with message: {}", toNumber, body);
+    }
+}
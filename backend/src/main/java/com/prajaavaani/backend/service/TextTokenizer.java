@@ -0,0 +1,63 @@
+package com.prajaavaani.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits concern text into index terms for any script. Text is NFC-normalized (so precomposed and decomposed
+ * nukta/vowel-sign forms match) and a term is a run of letters, digits and combining marks: Devanagari, Telugu,
+ * Tamil etc. vowel signs and viramas are marks, so they stay inside the word instead of splitting it.
+ * Zero-width joiners are dropped and cased scripts are lower-cased.
+ */
+final class TextTokenizer {
+
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int ZERO_WIDTH_NON_JOINER = 0x200C;
+    private static final int ZERO_WIDTH_JOINER = 0x200D;
+
+    private TextTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == ZERO_WIDTH_JOINER || codePoint == ZERO_WIDTH_NON_JOINER) {
+                continue;
+            }
+            if (isWordPart(codePoint)) {
+                term.appendCodePoint(Character.toLowerCase(codePoint));
+            } else {
+                flush(term, terms);
+            }
+        }
+        flush(term, terms);
+        return terms;
+    }
+
+    private static boolean isWordPart(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private static void flush(StringBuilder term, List<String> terms) {
+        if (term.length() > 0) {
+            // A term made only of marks (stray vowel sign) carries no meaning on its own
+            if (Character.isLetterOrDigit(term.codePointAt(0)) && term.length() <= MAX_TERM_LENGTH) {
+                terms.add(term.toString());
+            }
+            term.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.TrendingLeaderboardProperties;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Trending" ranking per location: every vote adds its net effect (+1, -1, +/-2 for a change) weighted by
+ * {@code 2^(t / half-life)}, and a new concern starts with {@code creation-weight}. Scores therefore decay
+ * exponentially with the age of the votes behind them.
+ *
+ * All entries of a location are stored relative to one epoch and decay at the same rate, so their order never
+ * changes with the passage of time alone: each vote is an O(log n) update and reads are a walk of a sorted set.
+ * When a location's newest weight grows too large the epoch is moved forward and its scores rescaled.
+ * Each location keeps at most {@code max-per-location} concerns and at most {@code max-locations} are tracked.
+ */
+@Service
+public class TrendingLeaderboard implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingLeaderboard.class);
+    // Half-lives between an epoch and the newest vote before rescaling; 2^64 keeps doubles far from overflow
+    private static final double REBASE_AFTER = 64;
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble((Entry entry) -> entry.score).reversed()
+            .thenComparing(entry -> entry.concernId);
+
+    private final TrendingLeaderboardProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double halfLifeMillis;
+    private final ConcurrentHashMap<LocationRef, Board> boards = new ConcurrentHashMap<>();
+
+    public TrendingLeaderboard(TrendingLeaderboardProperties properties, JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.halfLifeMillis = properties.getHalfLife().toMillis();
+        Gauge.builder("prajaavaani.leaderboard.trending.locations", boards, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Runs once every bean exists but before the web server starts accepting requests, so no live vote can be
+    // counted both by the warm-up scan and by onVote
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    // Replays recent concerns and votes so a restart does not empty every trending board. Both scans run in
+    // read-only transactions so the PostgreSQL driver streams them with the fetch size instead of buffering them.
+    void warmUp() {
+        if (!properties.isEnabled() || properties.getWarmupWindow().isZero()) {
+            return;
+        }
+        long started = System.nanoTime();
+        Timestamp since = new Timestamp(System.currentTimeMillis() - properties.getWarmupWindow().toMillis());
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, geographic_level, location_identifier, created_at FROM concerns WHERE created_at > ?");
+            statement.setTimestamp(1, since);
+            statement.setFetchSize(1000);
+            return statement;
+        }, rs -> {
+            add(location(rs.getString(2), rs.getString(3)), rs.getObject(1, UUID.class),
+                    properties.getCreationWeight(), rs.getTimestamp(4).getTime());
+        }));
+        // A changed vote keeps its original timestamp, so it is replayed as a single vote of its current type
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT v.concern_id, v.vote_type, v.timestamp, c.geographic_level, c.location_identifier "
+                            + "FROM votes v JOIN concerns c ON c.id = v.concern_id WHERE v.timestamp > ?");
+            statement.setTimestamp(1, since);
+            statement.setFetchSize(1000);
+            return statement;
+        }, rs -> {
+            add(location(rs.getString(4), rs.getString(5)), rs.getObject(1, UUID.class),
+                    "UPVOTE".equals(rs.getString(2)) ? 1 : -1, rs.getTimestamp(3).getTime());
+        }));
+        log.info("Warmed up trending leaderboard for {} locations in {} ms", boards.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public void onConcernCreated(GeographicLevel level, String locationIdentifier, UUID concernId, long createdAtMillis) {
+        if (properties.isEnabled() && properties.getCreationWeight() > 0) {
+            add(new LocationRef(level, locationIdentifier), concernId, properties.getCreationWeight(), createdAtMillis);
+        }
+    }
+
+    // netDelta is the vote's effect on the concern's net votes (e.g. -2 when an upvote becomes a downvote)
+    public void onVote(GeographicLevel level, String locationIdentifier, UUID concernId, int netDelta, long votedAtMillis) {
+        if (properties.isEnabled() && netDelta != 0) {
+            add(new LocationRef(level, locationIdentifier), concernId, netDelta, votedAtMillis);
+        }
+    }
+
+    // Concern IDs at [offset, offset + limit) of the location's trending order, plus how many concerns it ranks
+    public LeaderboardRollupService.RankedPage page(GeographicLevel level, String locationIdentifier, long offset, int limit) {
+        Board board = boards.get(new LocationRef(level, locationIdentifier));
+        if (board == null) {
+            return new LeaderboardRollupService.RankedPage(List.of(), 0);
+        }
+        return board.page(offset, limit);
+    }
+
+    private void add(LocationRef location, UUID concernId, double weight, long atMillis) {
+        while (true) {
+            Board board = boards.get(location);
+            if (board == null) {
+                board = boards.computeIfAbsent(location, ref -> new Board(atMillis));
+                if (boards.size() > properties.getMaxLocations()) {
+                    evictLeastRecentlyUpdated(board);
+                }
+            }
+            board.add(concernId, weight, atMillis);
+            // A board evicted between the lookup and the add took the update with it; apply it to the live board
+            if (boards.get(location) == board) {
+                return;
+            }
+        }
+    }
+
+    // Linear scan, but only when a new location pushes the count over the limit
+    private synchronized void evictLeastRecentlyUpdated(Board keep) {
+        while (boards.size() > properties.getMaxLocations()) {
+            Map.Entry<LocationRef, Board> coldest = null;
+            for (Map.Entry<LocationRef, Board> entry : boards.entrySet()) {
+                if (entry.getValue() != keep && (coldest == null || entry.getValue().lastUpdated < coldest.getValue().lastUpdated)) {
+                    coldest = entry;
+                }
+            }
+            if (coldest == null) {
+                return;
+            }
+            boards.remove(coldest.getKey(), coldest.getValue());
+        }
+    }
+
+    private static LocationRef location(String level, String identifier) {
+        return new LocationRef(GeographicLevel.valueOf(level), identifier);
+    }
+
+    private final class Board {
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+        private long epochMillis;
+        private volatile long lastUpdated;
+
+        Board(long epochMillis) {
+            this.epochMillis = epochMillis;
+        }
+
+        synchronized void add(UUID concernId, double weight, long atMillis) {
+            double exponent = (atMillis - epochMillis) / halfLifeMillis;
+            if (exponent > REBASE_AFTER) {
+                rebase(atMillis);
+                exponent = 0;
+            }
+            double increment = weight * Math.pow(2, exponent);
+            Entry entry = entries.get(concernId);
+            if (entry == null) {
+                entry = new Entry(concernId);
+                entries.put(concernId, entry);
+            } else {
+                ranked.remove(entry);
+            }
+            entry.score += increment;
+            ranked.add(entry);
+            if (ranked.size() > properties.getMaxPerLocation()) {
+                // May drop the entry just added; an evicted concern restarts from zero on its next vote
+                entries.remove(ranked.pollLast().concernId);
+            }
+            lastUpdated = System.nanoTime();
+        }
+
+        synchronized LeaderboardRollupService.RankedPage page(long offset, int limit) {
+            List<UUID> ids = new ArrayList<>(limit);
+            Iterator<Entry> iterator = ranked.iterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (ids.size() < limit && iterator.hasNext()) {
+                ids.add(iterator.next().concernId);
+            }
+            return new LeaderboardRollupService.RankedPage(ids, ranked.size());
+        }
+
+        // Rescales to a new epoch; the set is rebuilt because scores that underflow to equal values re-sort by ID
+        private void rebase(long newEpochMillis) {
+            double factor = Math.pow(2, -(newEpochMillis - epochMillis) / halfLifeMillis);
+            ranked.clear();
+            for (Entry entry : entries.values()) {
+                entry.score *= factor;
+                ranked.add(entry);
+            }
+            epochMillis = newEpochMillis;
+        }
+    }
+
+    private static final class Entry {
+        final UUID concernId;
+        double score;
+
+        Entry(UUID concernId) {
+            this.concernId = concernId;
+        }
+    }
+}
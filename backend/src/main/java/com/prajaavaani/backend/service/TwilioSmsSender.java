@@ -0,0 +1,40 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.TwilioConfig;
+import com.twilio.Twilio;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "prajaavaani.sms", name = "sender", havingValue = "twilio")
+public class TwilioSmsSender implements SmsSender {
+
+    private static final Logger log = LoggerFactory.getLogger(TwilioSmsSender.class);
+
+    private final TwilioConfig twilioConfig;
+
+    public TwilioSmsSender(TwilioConfig twilioConfig) {
+        this.twilioConfig = twilioConfig;
+    }
+
+    @PostConstruct // Initialize Twilio client after properties are loaded
+    void setupTwilio() {
+        Twilio.init(twilioConfig.getAccountSid(), twilioConfig.getAuthToken());
+        log.info("Twilio client initialized successfully.");
+    }
+
+    @Override
+    public void send(String toNumber, String body) {
+        Message message = Message.creator(
+                        new PhoneNumber(toNumber), // To number
+                        new PhoneNumber(twilioConfig.getPhoneNumber()), // From Twilio number
+                        body)
+                .create();
+        log.info("SMS sent to {}. SID: {}", toNumber, message.getSid());
+    }
+}
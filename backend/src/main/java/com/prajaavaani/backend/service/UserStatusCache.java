@@ -0,0 +1,54 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.UserStatusCacheProperties;
+import com.prajaavaani.backend.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL'd cache of whether a user may still authenticate (exists and is verified).
+ * Lets JwtAuthenticationFilter honour revocation without querying {@code users} on every request:
+ * each user costs at most one lookup per TTL.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final UserStatusCacheProperties properties;
+    private final ConcurrentHashMap<UUID, Status> statuses = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserRepository userRepository, UserStatusCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+    }
+
+    public boolean isActive(UUID userId) {
+        long now = System.nanoTime();
+        Status status = statuses.get(userId);
+        if (status != null && status.expiresAt - now > 0) {
+            return status.active;
+        }
+        boolean active = userRepository.findVerifiedById(userId).orElse(false);
+        if (statuses.size() >= properties.getMaxSize()) {
+            evict(now);
+        }
+        statuses.put(userId, new Status(active, now + properties.getTtl().toNanos()));
+        return active;
+    }
+
+    // Drops the cached status so the next request re-reads it (call when a user is blocked or deleted)
+    public void invalidate(UUID userId) {
+        statuses.remove(userId);
+    }
+
+    // Removes expired entries; if the cache is still full, drops an arbitrary tenth of it
+    private void evict(long now) {
+        statuses.values().removeIf(status -> status.expiresAt - now <= 0);
+        BoundedMaps.dropArbitraryTenth(statuses, properties.getMaxSize());
+    }
+
+    private record Status(boolean active, long expiresAt) {
+    }
+}
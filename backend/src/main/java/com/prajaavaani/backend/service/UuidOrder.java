@@ -0,0 +1,16 @@
+package com.prajaavaani.backend.service;
+
+import java.util.UUID;
+
+// UUID ordering shared by the in-memory rankings so their tie-breaks match the database's
+final class UuidOrder {
+
+    private UuidOrder() {
+    }
+
+    // Same byte order databases use for UUID columns (UUID.compareTo compares the halves as signed longs)
+    static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,7 @@
+package com.prajaavaani.backend.service;
+
+import java.util.UUID;
+
+// Result of one signature + expiry check of a JWT. userId is null for tokens issued before the uid claim.
+public record VerifiedToken(String subject, UUID userId, long expiresAtMillis) {
+}
@@ -0,0 +1,218 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteAuditProperties;
+import com.prajaavaani.backend.model.VoteEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Sampled audit trail of processed votes, replacing per-vote INFO logging.
+ * Request threads claim a slot in a preallocated ring buffer with one CAS and copy the event into primitive
+ * arrays (no allocation, no lock, never waits: a full buffer drops the event and counts it). A single
+ * background thread formats the events and appends them to a rolling file in {@code directory}, one line per vote:
+ * <pre>epochMillis outcome type userId concernId</pre>
+ * with outcome N(ew), T(oggle off), C(hange) or B(uffered for write-behind) and type U(p) or D(own).
+ */
+@Service
+public class VoteAuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteAuditLog.class);
+    private static final String ACTIVE_FILE = "votes-audit.log";
+    private static final char[] OUTCOME_CODES = {'N', 'T', 'C', 'B'};
+
+    private final VoteAuditProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private int mask;
+    private long[] timestamps;
+    private long[] userHigh;
+    private long[] userLow;
+    private long[] concernHigh;
+    private long[] concernLow;
+    private byte[] outcomes;
+    private boolean[] upvotes;
+    // Per slot: sequence + 1 once the event for that sequence is fully written
+    private AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    private Thread writerThread;
+    private volatile boolean running;
+    private BufferedWriter writer;
+    private long fileSize;
+    private Counter written;
+    private Counter dropped;
+
+    public VoteAuditLog(VoteAuditProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int capacity = Integer.highestOneBit(properties.getBufferSize() - 1) << 1;
+        mask = capacity - 1;
+        timestamps = new long[capacity];
+        userHigh = new long[capacity];
+        userLow = new long[capacity];
+        concernHigh = new long[capacity];
+        concernLow = new long[capacity];
+        outcomes = new byte[capacity];
+        upvotes = new boolean[capacity];
+        published = new AtomicLongArray(capacity);
+
+        written = meterRegistry.counter("prajaavaani.votes.audit.written");
+        dropped = meterRegistry.counter("prajaavaani.votes.audit.dropped");
+        Gauge.builder("prajaavaani.votes.audit.backlog", this, audit -> audit.claimed.get() - audit.consumed)
+                .description("Audit events buffered but not yet written")
+                .register(meterRegistry);
+
+        try {
+            Files.createDirectories(Path.of(properties.getDirectory()));
+            openActiveFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open vote audit log in " + properties.getDirectory(), e);
+        }
+        running = true;
+        writerThread = new Thread(this::drainLoop, "vote-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        // unpark rather than interrupt: an interrupt would close the file channel mid-write
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Called on the request thread; returns immediately whether or not the event is kept
+    public void record(UUID userId, UUID concernId, VoteEntity.VoteType voteType, HotPathMetrics.VoteOutcome outcome) {
+        if (writerThread == null) {
+            return;
+        }
+        double sampleRate = properties.getSampleRate();
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed > mask) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        timestamps[slot] = System.currentTimeMillis();
+        userHigh[slot] = userId.getMostSignificantBits();
+        userLow[slot] = userId.getLeastSignificantBits();
+        concernHigh[slot] = concernId.getMostSignificantBits();
+        concernLow[slot] = concernId.getLeastSignificantBits();
+        outcomes[slot] = (byte) outcome.ordinal();
+        upvotes[slot] = voteType == VoteEntity.VoteType.UPVOTE;
+        published.lazySet(slot, sequence + 1); // Release: the fields above are visible to the writer once it sees this
+    }
+
+    private void drainLoop() {
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        StringBuilder line = new StringBuilder(96);
+        while (running || consumed < claimed.get()) {
+            long next = consumed;
+            int drained = 0;
+            try {
+                while (published.get((int) (next & mask)) == next + 1) {
+                    int slot = (int) (next & mask);
+                    line.setLength(0);
+                    line.append(timestamps[slot]).append(' ')
+                            .append(OUTCOME_CODES[outcomes[slot]]).append(' ')
+                            .append(upvotes[slot] ? 'U' : 'D').append(' ')
+                            .append(new UUID(userHigh[slot], userLow[slot])).append(' ')
+                            .append(new UUID(concernHigh[slot], concernLow[slot])).append('\n');
+                    next++;
+                    consumed = next; // Frees the slot for producers
+                    writer.append(line);
+                    fileSize += line.length();
+                    drained++;
+                    if (fileSize >= properties.getMaxFileSize().toBytes()) {
+                        roll();
+                    }
+                }
+                if (drained > 0) {
+                    writer.flush();
+                    written.increment(drained);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to write vote audit log: {}", e.getMessage());
+            }
+            if (drained == 0) {
+                if (!running) {
+                    break; // A producer claimed a slot but never published it; nothing more will arrive
+                }
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close vote audit log: {}", e.getMessage());
+        }
+    }
+
+    private void openActiveFile() throws IOException {
+        Path active = Path.of(properties.getDirectory(), ACTIVE_FILE);
+        writer = Files.newBufferedWriter(active, StandardCharsets.US_ASCII,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileSize = Files.size(active);
+    }
+
+    // Renames the active file with a timestamp suffix and deletes the oldest rolled files beyond maxFiles
+    private void roll() throws IOException {
+        writer.close();
+        Path directory = Path.of(properties.getDirectory());
+        Files.move(directory.resolve(ACTIVE_FILE), directory.resolve("votes-audit-" + System.currentTimeMillis() + ".log"));
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> rolled = files
+                    .filter(path -> path.getFileName().toString().matches("votes-audit-\\d+\\.log"))
+                    .sorted()
+                    .toList();
+            for (int i = 0; i < rolled.size() - (properties.getMaxFiles() - 1); i++) {
+                Files.deleteIfExists(rolled.get(i));
+            }
+        }
+        openActiveFile();
+    }
+}
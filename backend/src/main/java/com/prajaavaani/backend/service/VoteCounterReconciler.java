@@ -0,0 +1,170 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteEventLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repairs drifted {@code concerns} counters without recounting the whole {@code votes} table. The
+ * {@link VoteTallyProjection} is only used to find suspect concerns: each instance's log misses the votes applied
+ * through other instances, and a crash between commit and append loses an event, so the tally alone is never
+ * trusted. Every suspect is recounted from {@code votes} and corrected with a single-row compare-and-set that only
+ * applies if the row still holds the values that were read, so live voting is never blocked or overwritten.
+ *
+ * Only concerns created after the start of the retained log are considered, and only if they have been quiet for
+ * {@code reconcile-quiet-period}.
+ */
+@Service
+public class VoteCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCounterReconciler.class);
+    private static final int BATCH = 500;
+
+    private final VoteEventLog eventLog;
+    private final VoteEventProjector projector;
+    private final VoteTallyProjection tally;
+    private final VoteEventLogProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final Counter corrected;
+    private ScheduledExecutorService scheduler;
+
+    public VoteCounterReconciler(VoteEventLog eventLog, VoteEventProjector projector, VoteTallyProjection tally,
+                                 VoteEventLogProperties properties, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.eventLog = eventLog;
+        this.projector = projector;
+        this.tally = tally;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.corrected = meterRegistry.counter("prajaavaani.votes.events.reconciled");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!eventLog.isEnabled() || properties.getReconcileInterval() == null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-counter-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getReconcileInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                log.error("Vote counter reconciliation failed: {}", e.getMessage());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Returns the number of concerns whose counters were corrected, or -1 if the tally is not caught up yet
+    public int reconcile() {
+        long logComplete = eventLog.completeSinceMillis();
+        long quietBefore = System.currentTimeMillis() - properties.getReconcileQuietPeriod().toMillis();
+        // Every vote committed before quietBefore has been appended by now; the tally must have applied all of them
+        if (projector.appliedOffset(VoteTallyProjection.NAME) < eventLog.endOffset()) {
+            return -1;
+        }
+        Timestamp createdAfter = new Timestamp(logComplete);
+        Timestamp updatedBefore = new Timestamp(quietBefore);
+        // Concerns whose counters disagree with this instance's tally: id, upvotes, downvotes as read. The scan runs
+        // in a transaction so the PostgreSQL driver streams it with the fetch size; it stays on the primary (not
+        // read-only) since the values read feed the compare-and-set, which runs after the scan's transaction ends.
+        List<Object[]> suspects = new ArrayList<>();
+        scanTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT id, upvotes, downvotes FROM concerns WHERE created_at > ? AND updated_at < ?");
+            statement.setTimestamp(1, createdAfter);
+            statement.setTimestamp(2, updatedBefore);
+            statement.setFetchSize(1000);
+            return statement;
+        }, rs -> {
+            UUID id = rs.getObject(1, UUID.class);
+            int upvotes = rs.getInt(2);
+            int downvotes = rs.getInt(3);
+            VoteTallyProjection.Counts counts = tally.counts(id);
+            int tallyUp = counts == null ? 0 : counts.upvotes();
+            int tallyDown = counts == null ? 0 : counts.downvotes();
+            if (tallyUp != upvotes || tallyDown != downvotes) {
+                suspects.add(new Object[]{id, upvotes, downvotes});
+            }
+        }));
+        List<Object[]> corrections = new ArrayList<>();
+        int total = 0;
+        for (Object[] suspect : suspects) {
+            UUID id = (UUID) suspect[0];
+            int upvotes = (Integer) suspect[1];
+            int downvotes = (Integer) suspect[2];
+            int[] recount = recount(id);
+            if (recount[0] != upvotes || recount[1] != downvotes) {
+                corrections.add(new Object[]{recount[0], recount[1], recount[0] - recount[1], id, upvotes, downvotes, updatedBefore});
+                if (corrections.size() == BATCH) {
+                    total += apply(corrections);
+                }
+            }
+        }
+        total += apply(corrections);
+        if (total > 0) {
+            log.warn("Reconciled vote counters of {} concerns ({} suspected from the vote event log)", total, suspects.size());
+        } else if (!suspects.isEmpty()) {
+            log.debug("{} concerns disagreed with the vote event log but matched the votes table", suspects.size());
+        }
+        return total;
+    }
+
+    // Upvotes and downvotes currently recorded in the votes table for one concern. Package-private so tests can
+    // land a vote between the recount and the compare-and-set.
+    int[] recount(UUID concernId) {
+        int[] counts = new int[2];
+        jdbcTemplate.query("SELECT vote_type, count(*) FROM votes WHERE concern_id = ? GROUP BY vote_type", rs -> {
+            if ("UPVOTE".equals(rs.getString(1))) {
+                counts[0] = rs.getInt(2);
+            } else if ("DOWNVOTE".equals(rs.getString(1))) {
+                counts[1] = rs.getInt(2);
+            }
+        }, concernId);
+        return counts;
+    }
+
+    private int apply(List<Object[]> corrections) {
+        if (corrections.isEmpty()) {
+            return 0;
+        }
+        int applied = 0;
+        for (int rows : jdbcTemplate.batchUpdate("UPDATE concerns SET upvotes = ?, downvotes = ?, net_votes = ? "
+                + "WHERE id = ? AND upvotes = ? AND downvotes = ? AND updated_at < ?", corrections)) {
+            applied += Math.max(rows, 0);
+        }
+        corrections.clear();
+        corrected.increment(applied);
+        return applied;
+    }
+}
@@ -0,0 +1,30 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.VoteEntity;
+
+import java.util.UUID;
+
+// One applied vote as recorded in the VoteEventLog; offset is its position in the log (0-based, gap-free)
+public record VoteEvent(long offset, long timestampMillis, UUID userId, UUID concernId,
+                        HotPathMetrics.VoteOutcome outcome, VoteEntity.VoteType voteType,
+                        GeographicLevel level, String locationIdentifier) {
+
+    // Change to the concern's upvote counter caused by this event
+    public int upvoteDelta() {
+        return delta(VoteEntity.VoteType.UPVOTE);
+    }
+
+    public int downvoteDelta() {
+        return delta(VoteEntity.VoteType.DOWNVOTE);
+    }
+
+    private int delta(VoteEntity.VoteType counter) {
+        return switch (outcome) {
+            case NEW -> voteType == counter ? 1 : 0;
+            case TOGGLE_OFF -> voteType == counter ? -1 : 0;
+            case CHANGE -> voteType == counter ? 1 : -1;
+            case BUFFERED -> 0; // Never logged: buffered votes are recorded once the flusher resolves them
+        };
+    }
+}
@@ -0,0 +1,435 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteEventLogProperties;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.VoteEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable, append-only log of applied votes (new, toggle-off and change outcomes), the source for the
+ * {@link VoteProjection}s maintained by {@link VoteEventProjector}.
+ *
+ * The log is a sequence of preallocated, memory-mapped segment files named after the offset of their first
+ * event. Appends copy one record into the active segment's mapping under a short lock; the OS writes the pages
+ * back and a background thread forces them every {@code force-interval}. A record is
+ * <pre>[int payloadLength][int crc32(payload)][payload]</pre>
+ * and is followed by a zero length, which marks the end of the data. The length is written last, so readers
+ * (and recovery after a crash) see either a complete record or the end marker; a record torn by an OS crash
+ * fails its checksum and truncates the log there.
+ *
+ * Segments are kept until {@link #deleteSegments} drops the oldest ones (driven by {@code retention} in
+ * {@link VoteEventProjector}). Without a retention the log grows without bound. Deleted segments are unlinked
+ * immediately, but their mappings are only released once the buffers are garbage collected.
+ */
+@Service
+public class VoteEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteEventLog.class);
+    private static final String SUFFIX = ".seg";
+    private static final String COMPLETE_SINCE_FILE = "complete-since";
+    private static final int HEADER = 8;
+    private static final int FIXED_PAYLOAD = 6 * Long.BYTES + 3 + Short.BYTES;
+    private static final HotPathMetrics.VoteOutcome[] OUTCOMES = HotPathMetrics.VoteOutcome.values();
+    private static final VoteEntity.VoteType[] VOTE_TYPES = VoteEntity.VoteType.values();
+    private static final GeographicLevel[] LEVELS = GeographicLevel.values();
+
+    private final VoteEventLogProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // A lock rather than a monitor: a virtual thread waiting on a monitor pins its carrier, and appends run on
+    // request threads while roll() creates and maps a file under the lock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32 crc = new CRC32(); // guarded by appendLock
+    private volatile Segment active;
+    private volatile long endOffset;
+    private volatile long completeSinceMillis;
+    private Path directory;
+    private int segmentSize;
+    private ScheduledExecutorService forcer;
+    private Counter appended;
+
+    public VoteEventLog(VoteEventLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        directory = Path.of(properties.getDirectory());
+        segmentSize = (int) Math.min(properties.getSegmentSize().toBytes(), Integer.MAX_VALUE);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create vote event log directory " + directory, e);
+        }
+        completeSinceMillis = readOrWriteCompleteSince();
+        recover();
+        if (active == null) {
+            active = openSegment(endOffset);
+        }
+
+        appended = meterRegistry.counter("prajaavaani.votes.events.appended");
+        Gauge.builder("prajaavaani.votes.events.end.offset", this, VoteEventLog::endOffset)
+                .description("Offset the next vote event will be written at")
+                .register(meterRegistry);
+        Gauge.builder("prajaavaani.votes.events.segments", segments, Map::size)
+                .register(meterRegistry);
+
+        forcer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-event-log-force");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getForceInterval().toMillis();
+        forcer.scheduleWithFixedDelay(() -> active.buffer.force(), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Vote event log open at {} with offsets [{}, {})", directory, startOffset(), endOffset);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (forcer == null) {
+            return;
+        }
+        forcer.shutdown();
+        appendLock.lock();
+        try {
+            active.buffer.force();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Appends one applied vote and returns its offset, or -1 when the log is disabled
+    public long append(UUID userId, UUID concernId, HotPathMetrics.VoteOutcome outcome, VoteEntity.VoteType voteType,
+                       GeographicLevel level, String locationIdentifier) {
+        if (!properties.isEnabled()) {
+            return -1;
+        }
+        byte[] location = locationIdentifier.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = FIXED_PAYLOAD + location.length;
+        if (HEADER + payloadLength + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Vote event for location " + locationIdentifier + " does not fit in a segment");
+        }
+        appendLock.lock();
+        try {
+            // Taken under the lock so timestamps never decrease along the log, which deleteSegments relies on
+            long timestamp = System.currentTimeMillis();
+            Segment segment = active;
+            int position = segment.limit;
+            if (position + HEADER + payloadLength + Integer.BYTES > segment.capacity) {
+                segment = roll();
+                position = 0;
+            }
+            long offset = endOffset;
+            MappedByteBuffer buffer = segment.buffer;
+            int at = position + HEADER;
+            buffer.putLong(at, offset);
+            buffer.putLong(at + 8, timestamp);
+            buffer.putLong(at + 16, userId.getMostSignificantBits());
+            buffer.putLong(at + 24, userId.getLeastSignificantBits());
+            buffer.putLong(at + 32, concernId.getMostSignificantBits());
+            buffer.putLong(at + 40, concernId.getLeastSignificantBits());
+            buffer.put(at + 48, (byte) outcome.ordinal());
+            buffer.put(at + 49, (byte) voteType.ordinal());
+            buffer.put(at + 50, (byte) level.ordinal());
+            buffer.putShort(at + 51, (short) location.length);
+            buffer.put(at + FIXED_PAYLOAD, location);
+            crc.reset();
+            crc.update(buffer.slice(at, payloadLength));
+            buffer.putInt(position + 4, (int) crc.getValue());
+            int next = at + payloadLength;
+            buffer.putInt(next, 0);
+            buffer.putInt(position, payloadLength); // Publishes the record to recovery
+
+            segment.limit = next; // Publishes the record to readers
+            endOffset = offset + 1;
+            appended.increment();
+            return offset;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Offset of the oldest event still in the log
+    public long startOffset() {
+        Map.Entry<Long, Segment> first = segments.firstEntry();
+        return first == null ? endOffset : first.getKey();
+    }
+
+    // Offset the next event will be written at (one past the newest event)
+    public long endOffset() {
+        return endOffset;
+    }
+
+    // Wall-clock time from which the log is complete: the time it was first opened, moved forward as old segments
+    // are deleted. Every vote on a concern created after this instant is in the log, as long as the log has stayed
+    // enabled since.
+    public long completeSinceMillis() {
+        return completeSinceMillis;
+    }
+
+    // Deletes the oldest sealed segments whose events were all appended before olderThanMillis and lie below
+    // beforeOffset, so no cursor at or past beforeOffset is affected. Returns the number of segments deleted.
+    // Must not run concurrently with cursors positioned below beforeOffset.
+    public int deleteSegments(long beforeOffset, long olderThanMillis) {
+        int deleted = 0;
+        while (true) {
+            Map.Entry<Long, Segment> first = segments.firstEntry();
+            Map.Entry<Long, Segment> next = first == null ? null : segments.higherEntry(first.getKey());
+            if (next == null || !first.getValue().sealed || next.getKey() > beforeOffset) {
+                break;
+            }
+            // Every event of the first segment was appended no later than the next segment's first event
+            Segment successor = next.getValue();
+            long boundary = successor.limit > 0 ? successor.buffer.getLong(HEADER + 8) : System.currentTimeMillis();
+            if (boundary >= olderThanMillis) {
+                break;
+            }
+            // Move the completeness horizon first: a crash after this leaves an extra segment, never a gap
+            writeCompleteSince(boundary);
+            completeSinceMillis = boundary;
+            segments.remove(first.getKey());
+            Path path = directory.resolve(String.format("%020d%s", first.getKey(), SUFFIX));
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete vote event log segment " + path, e);
+            }
+            deleted++;
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} vote event log segments; the log now starts at offset {}", deleted, startOffset());
+        }
+        return deleted;
+    }
+
+    // Positions a new cursor at the given offset, clamped to [startOffset, endOffset]
+    public Cursor openCursor(long offset) {
+        long target = Math.max(startOffset(), Math.min(offset, endOffset));
+        Map.Entry<Long, Segment> entry = segments.floorEntry(target);
+        if (entry == null) {
+            entry = segments.firstEntry();
+        }
+        Cursor cursor = new Cursor(entry.getValue());
+        while (cursor.offset < target) {
+            cursor.position += HEADER + cursor.segment.buffer.getInt(cursor.position);
+            cursor.offset++;
+        }
+        return cursor;
+    }
+
+    // Hands up to maxEvents events at the cursor to the consumer in log order and advances the cursor.
+    // Returns how many events were read; 0 means the cursor is at the end of the log.
+    public int poll(Cursor cursor, int maxEvents, Consumer<VoteEvent> consumer) {
+        int read = 0;
+        while (read < maxEvents) {
+            Segment segment = cursor.segment;
+            // Read sealed before limit: once sealed, limit is final
+            boolean sealed = segment.sealed;
+            int limit = segment.limit;
+            if (cursor.position < limit) {
+                int length = segment.buffer.getInt(cursor.position);
+                consumer.accept(decode(segment.buffer, cursor.position + HEADER, length));
+                cursor.position += HEADER + length;
+                cursor.offset++;
+                read++;
+            } else if (sealed) {
+                Segment next = segments.get(cursor.offset);
+                if (next == null) {
+                    break;
+                }
+                cursor.segment = next;
+                cursor.position = 0;
+            } else {
+                break;
+            }
+        }
+        return read;
+    }
+
+    private static VoteEvent decode(MappedByteBuffer buffer, int at, int payloadLength) {
+        byte[] location = new byte[buffer.getShort(at + 51)];
+        buffer.get(at + FIXED_PAYLOAD, location);
+        return new VoteEvent(buffer.getLong(at), buffer.getLong(at + 8),
+                new UUID(buffer.getLong(at + 16), buffer.getLong(at + 24)),
+                new UUID(buffer.getLong(at + 32), buffer.getLong(at + 40)),
+                OUTCOMES[buffer.get(at + 48)], VOTE_TYPES[buffer.get(at + 49)], LEVELS[buffer.get(at + 50)],
+                new String(location, StandardCharsets.UTF_8));
+    }
+
+    // Seals the active segment and starts the next one at the current end offset. Caller holds appendLock.
+    private Segment roll() {
+        Segment previous = active;
+        previous.buffer.force();
+        Segment next = openSegment(endOffset);
+        previous.sealed = true;
+        active = next;
+        return next;
+    }
+
+    private Segment openSegment(long baseOffset) {
+        Path path = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(segmentSize);
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            Segment segment = new Segment(baseOffset, buffer, segmentSize);
+            segments.put(baseOffset, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create vote event log segment " + path, e);
+        }
+    }
+
+    // Maps existing segments (oldest first), finds the end of the data and reopens the newest one for appends
+    private void recover() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list vote event log directory " + directory, e);
+        }
+        files.sort(null); // Zero-padded base offsets keep lexical order == log order
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            String name = path.getFileName().toString();
+            long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            if (!segments.isEmpty() && baseOffset != endOffset) {
+                throw new IllegalStateException("Vote event log segment " + path + " starts at offset " + baseOffset
+                        + " but the previous segment ends at " + endOffset);
+            }
+            boolean newest = i == files.size() - 1;
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), newest ? "rw" : "r")) {
+                int capacity = (int) Math.min(file.length(), Integer.MAX_VALUE);
+                MappedByteBuffer buffer = file.getChannel().map(
+                        newest ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, capacity);
+                Segment segment = new Segment(baseOffset, buffer, capacity);
+                endOffset = scan(segment, path);
+                segment.sealed = !newest;
+                segments.put(baseOffset, segment);
+                if (newest) {
+                    active = segment;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open vote event log segment " + path, e);
+            }
+        }
+    }
+
+    private long readOrWriteCompleteSince() {
+        Path file = directory.resolve(COMPLETE_SINCE_FILE);
+        try {
+            if (Files.exists(file)) {
+                return Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).trim());
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Cannot read vote event log start time from " + file, e);
+        }
+        long now = System.currentTimeMillis();
+        writeCompleteSince(now);
+        return now;
+    }
+
+    private void writeCompleteSince(long millis) {
+        Path file = directory.resolve(COMPLETE_SINCE_FILE);
+        try {
+            Files.writeString(file, Long.toString(millis), StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write vote event log start time to " + file, e);
+        }
+    }
+
+    // Walks the records of a segment, setting its limit after the last intact one; returns the next offset
+    private static long scan(Segment segment, Path path) {
+        MappedByteBuffer buffer = segment.buffer;
+        CRC32 checksum = new CRC32();
+        long offset = segment.baseOffset;
+        int position = 0;
+        while (position + HEADER + FIXED_PAYLOAD <= segment.capacity) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < FIXED_PAYLOAD || position + HEADER + length > segment.capacity) {
+                log.warn("Vote event log segment {} is truncated at byte {} (bad record length)", path, position);
+                break;
+            }
+            checksum.reset();
+            checksum.update(buffer.slice(position + HEADER, length));
+            if ((int) checksum.getValue() != buffer.getInt(position + 4) || buffer.getLong(position + HEADER) != offset) {
+                log.warn("Vote event log segment {} is truncated at byte {} (torn record)", path, position);
+                break;
+            }
+            position += HEADER + length;
+            offset++;
+        }
+        segment.limit = position;
+        return offset;
+    }
+
+    // A reader's position in the log; owned by one thread at a time
+    public static final class Cursor {
+        private Segment segment;
+        private int position;
+        private long offset;
+
+        private Cursor(Segment segment) {
+            this.segment = segment;
+            this.offset = segment.baseOffset;
+        }
+
+        // Offset of the next event this cursor will read
+        public long offset() {
+            return offset;
+        }
+    }
+
+    private static final class Segment {
+        final long baseOffset;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        volatile int limit;
+        volatile boolean sealed;
+
+        Segment(long baseOffset, MappedByteBuffer buffer, int capacity) {
+            this.baseOffset = baseOffset;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+    }
+}
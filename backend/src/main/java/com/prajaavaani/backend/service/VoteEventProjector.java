@@ -0,0 +1,170 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteEventLogProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the {@link VoteEventLog} and applies its events to every {@link VoteProjection}. Each projection has its
+ * own cursor, so one can be replayed from any offset without disturbing the others. On startup all projections
+ * are rebuilt by replaying the whole log. With a {@code retention} set, the same thread deletes old segments once
+ * every projection has moved past them.
+ */
+@Service
+public class VoteEventProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteEventProjector.class);
+    private static final int BATCH = 10_000;
+
+    private final VoteEventLog eventLog;
+    private final VoteEventLogProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Subscription> subscriptions = new LinkedHashMap<>();
+    private ScheduledExecutorService executor;
+
+    public VoteEventProjector(VoteEventLog eventLog, List<VoteProjection> projections,
+                              VoteEventLogProperties properties, MeterRegistry meterRegistry) {
+        this.eventLog = eventLog;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (VoteProjection projection : projections) {
+            subscriptions.put(projection.name(), new Subscription(projection));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!eventLog.isEnabled()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions.values()) {
+            subscription.cursor = eventLog.openCursor(eventLog.startOffset());
+            Gauge.builder("prajaavaani.votes.events.projection.lag", subscription, this::lag)
+                    .description("Vote events appended but not yet applied to the projection")
+                    .tag("projection", subscription.projection.name())
+                    .register(meterRegistry);
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-event-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::pollAll, 0, intervalMs, TimeUnit.MILLISECONDS);
+        if (properties.getRetention() != null) {
+            long checkMs = properties.getRetentionCheckInterval().toMillis();
+            executor.scheduleWithFixedDelay(this::applyRetention, checkMs, checkMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Resets the projection and re-applies the log from fromOffset (clamped to the retained range).
+    // Blocks until the projection has caught up with the events appended before the call.
+    public void replay(String name, long fromOffset) {
+        Subscription subscription = subscriptions.get(name);
+        if (subscription == null) {
+            throw new IllegalArgumentException("Unknown vote projection: " + name);
+        }
+        if (executor == null) {
+            throw new IllegalStateException("The vote event log is disabled");
+        }
+        long target = eventLog.endOffset();
+        try {
+            executor.submit(() -> {
+                subscription.projection.reset();
+                subscription.cursor = eventLog.openCursor(fromOffset);
+                while (subscription.cursor.offset() < target && drain(subscription) > 0) {
+                    // Keep draining until the target offset is reached
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay of vote projection " + name + " failed", e.getCause());
+        }
+        log.info("Replayed vote projection {} from offset {} to {}", name, fromOffset, target);
+    }
+
+    // Offset of the next event the projection will apply (-1 before the projector has started)
+    public long appliedOffset(String name) {
+        Subscription subscription = subscriptions.get(name);
+        if (subscription == null) {
+            throw new IllegalArgumentException("Unknown vote projection: " + name);
+        }
+        return subscription.appliedOffset;
+    }
+
+    private void pollAll() {
+        for (Subscription subscription : subscriptions.values()) {
+            try {
+                while (drain(subscription) == BATCH) {
+                    // A full batch means more events may be waiting
+                }
+            } catch (RuntimeException e) {
+                // Never let one projection cancel the scheduled poller; it retries from the failed event
+                log.error("Vote projection {} failed at offset {}: {}", subscription.projection.name(), subscription.appliedOffset, e.getMessage());
+            }
+        }
+    }
+
+    // Runs on the projector thread, so no cursor moves (or is reopened by a replay) while segments are deleted
+    private void applyRetention() {
+        long applied = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions.values()) {
+            applied = Math.min(applied, subscription.appliedOffset);
+        }
+        if (applied < 0) {
+            return;
+        }
+        try {
+            eventLog.deleteSegments(applied, System.currentTimeMillis() - properties.getRetention().toMillis());
+        } catch (RuntimeException e) {
+            log.error("Vote event log retention failed: {}", e.getMessage());
+        }
+    }
+
+    private int drain(Subscription subscription) {
+        int read = eventLog.poll(subscription.cursor, BATCH, event -> {
+            subscription.projection.apply(event);
+            subscription.appliedOffset = event.offset() + 1;
+        });
+        if (read == 0) {
+            subscription.appliedOffset = subscription.cursor.offset();
+        }
+        return read;
+    }
+
+    private double lag(Subscription subscription) {
+        return subscription.appliedOffset < 0 ? 0 : eventLog.endOffset() - subscription.appliedOffset;
+    }
+
+    private static final class Subscription {
+        final VoteProjection projection;
+        VoteEventLog.Cursor cursor;
+        volatile long appliedOffset = -1;
+
+        Subscription(VoteProjection projection) {
+            this.projection = projection;
+        }
+    }
+}
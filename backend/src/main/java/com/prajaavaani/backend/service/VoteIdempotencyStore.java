@@ -0,0 +1,341 @@
+package com.prajaavaani.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prajaavaani.backend.config.VoteIdempotencyProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.VoteRequest;
+import com.prajaavaani.backend.model.IdempotencyKeyEntity;
+import com.prajaavaani.backend.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers the response to each vote sent with an Idempotency-Key, so a client retrying after a timeout gets the
+ * original answer instead of casting the vote again (which, for a repeated vote of the same type, would toggle it
+ * off). A request first claims its key; a retry arriving while the claim is pending is refused, one arriving after
+ * it completed is answered from memory without touching the database.
+ *
+ * Keys are scoped to the user and spread over lock-striped shards. Every key lives for the same TTL, so each shard's
+ * insertion order is also its expiry order: expired keys are dropped from the head as new ones are claimed, and a
+ * full shard evicts its oldest key. In persistent mode keys are also written to idempotency_keys, whose
+ * INSERT ... ON CONFLICT claim holds across instances; memory remains a read-through cache in front of it.
+ */
+@Component
+public class VoteIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteIdempotencyStore.class);
+
+    private final VoteIdempotencyProperties properties;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Shard[] shards;
+    private final int maxEntriesPerShard;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter inProgress;
+    private final Counter mismatches;
+    private final Counter evicted;
+    private ScheduledExecutorService purger;
+
+    public VoteIdempotencyStore(VoteIdempotencyProperties properties, IdempotencyKeyRepository idempotencyKeyRepository,
+                                PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.shards = new Shard[properties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.maxEntriesPerShard = Math.max(1, properties.getMaxEntries() / shards.length);
+
+        hits = requests(meterRegistry, "hit");
+        misses = requests(meterRegistry, "miss");
+        inProgress = requests(meterRegistry, "in-progress");
+        mismatches = requests(meterRegistry, "mismatch");
+        evicted = meterRegistry.counter("prajaavaani.votes.idempotency.evicted");
+        Gauge.builder("prajaavaani.votes.idempotency.entries", size, AtomicInteger::get)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("prajaavaani.votes.idempotency.requests")
+                .description("Vote requests carrying an Idempotency-Key, by whether the key was already known")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled() || !properties.isPersistent()) {
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getPurgeInterval().toMillis();
+        purger.scheduleWithFixedDelay(this::purge, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getMaxKeyLength() {
+        return properties.getMaxKeyLength();
+    }
+
+    /**
+     * Claims the key for this request. Only a NEW claim may go on to cast the vote, and must then be completed or
+     * released. REPLAY carries the response of the request that first used the key.
+     */
+    public Claim claim(UUID userId, String key, VoteRequest request) {
+        String storeKey = userId + ":" + key;
+        String fingerprint = request.getConcernId() + ":" + request.getVoteType();
+        long now = System.currentTimeMillis();
+        Shard shard = shardFor(storeKey);
+        shard.lock.lock();
+        try {
+            shard.dropExpired(now);
+            Entry entry = shard.entries.get(storeKey);
+            if (entry != null) {
+                Claim known = check(entry, fingerprint, now);
+                if (known != null) {
+                    return known;
+                }
+                // The first request was abandoned without being released
+                shard.entries.remove(storeKey);
+                size.decrementAndGet();
+            }
+            if (!properties.isPersistent()) {
+                shard.add(storeKey, new Entry(fingerprint, now, now + properties.getTtl().toMillis()));
+                misses.increment();
+                return Claim.NEW;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        return claimPersistent(storeKey, fingerprint);
+    }
+
+    // Records the response of a NEW claim, to be replayed to its retries
+    public void complete(UUID userId, String key, ConcernDto response) {
+        String storeKey = userId + ":" + key;
+        Shard shard = shardFor(storeKey);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(storeKey);
+            if (entry != null) {
+                entry.response = response;
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (properties.isPersistent()) {
+            try {
+                String json = objectMapper.writeValueAsString(response);
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.complete(storeKey, json));
+            } catch (JsonProcessingException | DataAccessException e) {
+                // The vote itself succeeded; other instances will see the key as pending until pending-timeout
+                log.warn("Failed to persist the response for idempotency key {}: {}", storeKey, e.getMessage());
+            }
+        }
+    }
+
+    // Forgets a NEW claim whose request failed, so the client's retry is processed normally
+    public void release(UUID userId, String key) {
+        String storeKey = userId + ":" + key;
+        Shard shard = shardFor(storeKey);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(storeKey);
+            if (entry != null && entry.response == null) {
+                shard.entries.remove(storeKey);
+                size.decrementAndGet();
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        if (properties.isPersistent()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deletePending(storeKey));
+            } catch (DataAccessException e) {
+                log.warn("Failed to release idempotency key {}: {}", storeKey, e.getMessage());
+            }
+        }
+    }
+
+    // Outcome for a live key, or null if its request was abandoned and the key may be claimed again
+    private Claim check(Entry entry, String fingerprint, long now) {
+        if (!entry.fingerprint.equals(fingerprint)) {
+            mismatches.increment();
+            return Claim.MISMATCH;
+        }
+        if (entry.response != null) {
+            hits.increment();
+            return Claim.replay(entry.response);
+        }
+        if (now - entry.createdAt < properties.getPendingTimeout().toMillis()) {
+            inProgress.increment();
+            return Claim.IN_PROGRESS;
+        }
+        return null;
+    }
+
+    private Claim claimPersistent(String storeKey, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getTtl());
+        IdempotencyKeyEntity existing = transactionTemplate.execute(status -> {
+            if (idempotencyKeyRepository.claim(storeKey, fingerprint, now, expiresAt) == 1) {
+                return null;
+            }
+            if (idempotencyKeyRepository.deleteIfStale(storeKey, now, now.minus(properties.getPendingTimeout())) == 1
+                    && idempotencyKeyRepository.claim(storeKey, fingerprint, now, expiresAt) == 1) {
+                return null;
+            }
+            // Deleted by the purger or a release in between: report it as pending, the client retries
+            return idempotencyKeyRepository.findById(storeKey)
+                    .orElseGet(() -> new IdempotencyKeyEntity(storeKey, fingerprint, null, now, expiresAt));
+        });
+        long nowMillis = System.currentTimeMillis();
+        if (existing == null) {
+            remember(storeKey, new Entry(fingerprint, nowMillis, nowMillis + properties.getTtl().toMillis()));
+            misses.increment();
+            return Claim.NEW;
+        }
+        Entry entry = new Entry(existing.getFingerprint(), nowMillis, nowMillis + properties.getTtl().toMillis());
+        if (existing.getResponse() != null) {
+            try {
+                entry.response = objectMapper.readValue(existing.getResponse(), ConcernDto.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable response stored for idempotency key " + storeKey, e);
+            }
+            remember(storeKey, entry);
+        }
+        // A pending row older than pending-timeout was deleted above, so one still pending is in progress elsewhere
+        return check(entry, fingerprint, nowMillis);
+    }
+
+    private void remember(String storeKey, Entry entry) {
+        Shard shard = shardFor(storeKey);
+        shard.lock.lock();
+        try {
+            if (shard.entries.remove(storeKey) != null) {
+                size.decrementAndGet();
+            }
+            shard.add(storeKey, entry);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void purge() {
+        try {
+            int deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+            if (deleted > 0) {
+                log.debug("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Idempotency key purge failed: {}", e.getMessage());
+        }
+    }
+
+    private Shard shardFor(String key) {
+        return shards[Math.floorMod(key.hashCode(), shards.length)];
+    }
+
+    public record Claim(Status status, ConcernDto response) {
+
+        static final Claim NEW = new Claim(Status.NEW, null);
+        static final Claim IN_PROGRESS = new Claim(Status.IN_PROGRESS, null);
+        static final Claim MISMATCH = new Claim(Status.MISMATCH, null);
+
+        static Claim replay(ConcernDto response) {
+            return new Claim(Status.REPLAY, response);
+        }
+
+        public enum Status {
+            // First use of the key: cast the vote
+            NEW,
+            // Already answered: return the stored response
+            REPLAY,
+            // The first request with this key has not finished yet
+            IN_PROGRESS,
+            // The key was first used for a different vote
+            MISMATCH
+        }
+    }
+
+    private final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        // Insertion order, which with a fixed TTL is also expiry order
+        final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+        void add(String key, Entry entry) {
+            entries.put(key, entry);
+            size.incrementAndGet();
+            if (entries.size() > maxEntriesPerShard) {
+                Iterator<Entry> oldest = entries.values().iterator();
+                oldest.next();
+                oldest.remove();
+                size.decrementAndGet();
+                evicted.increment();
+            }
+        }
+
+        void dropExpired(long now) {
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext() && iterator.next().getValue().expiresAt <= now) {
+                iterator.remove();
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final long createdAt;
+        final long expiresAt;
+        ConcernDto response; // Null while the first request is in progress; guarded by the shard lock
+
+        Entry(String fingerprint, long createdAt, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
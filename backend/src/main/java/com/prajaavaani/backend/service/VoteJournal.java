@@ -0,0 +1,268 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.VoteEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only, per-stripe journal backing the vote write-behind buffer.
+ *
+ * Each stripe writes to one active segment file. When the stripe is drained the active segment is sealed
+ * and a new one opened; sealed segments are deleted once the database checkpoint covers their last sequence.
+ * Callers must hold the stripe's lock for append/roll; release may be called from the flusher thread.
+ */
+class VoteJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteJournal.class);
+    private static final String SUFFIX = ".log";
+    private static final String OWNER_FILE = "instance-id";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final Segment[] active;
+    private final List<List<Segment>> sealed;
+    private final long[] nextGeneration;
+
+    VoteJournal(Path directory, String instanceId, int stripes, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.active = new Segment[stripes];
+        this.sealed = new ArrayList<>(stripes);
+        this.nextGeneration = new long[stripes];
+        for (int i = 0; i < stripes; i++) {
+            sealed.add(new ArrayList<>());
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create vote journal directory " + directory, e);
+        }
+        checkOwner(instanceId);
+        checkNoForeignStripes(stripes);
+    }
+
+    // Reads every existing segment of the stripe (oldest first), seals them and returns entries after the checkpoint.
+    // Must be called once per stripe before the first append.
+    List<PendingVote> replay(int stripe, long checkpointSeq) {
+        List<PendingVote> replayed = new ArrayList<>();
+        List<Path> files = listSegments(stripe);
+        for (Path file : files) {
+            long maxSeq = checkpointSeq;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    PendingVote vote = parse(line);
+                    if (vote == null) {
+                        // A torn write from a crash can only be the last line of a segment
+                        log.warn("Skipping unreadable vote journal entry in {}", file);
+                        continue;
+                    }
+                    maxSeq = Math.max(maxSeq, vote.seq());
+                    if (vote.seq() > checkpointSeq) {
+                        replayed.add(vote);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot replay vote journal segment " + file, e);
+            }
+            synchronized (sealed.get(stripe)) {
+                sealed.get(stripe).add(new Segment(file, null, maxSeq, true));
+            }
+            nextGeneration[stripe] = Math.max(nextGeneration[stripe], generationOf(file) + 1);
+        }
+        release(stripe, checkpointSeq);
+        return replayed;
+    }
+
+    void append(int stripe, PendingVote vote) {
+        Segment segment = active[stripe];
+        if (segment == null) {
+            segment = open(stripe);
+            active[stripe] = segment;
+        }
+        String line = vote.seq() + " " + vote.userId() + " " + vote.concernId() + " "
+                + (vote.voteType() == VoteEntity.VoteType.UPVOTE ? 'U' : 'D') + " " + vote.acceptedAtMillis() + "\n";
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                segment.channel.write(buffer);
+            }
+            if (fsync) {
+                segment.channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to vote journal " + segment.path, e);
+        }
+        segment.maxSeq = vote.seq();
+        segment.hasEntries = true;
+    }
+
+    // Seals the active segment so entries accepted after a drain land in a fresh file.
+    void roll(int stripe) {
+        Segment segment = active[stripe];
+        if (segment == null) {
+            return;
+        }
+        active[stripe] = null;
+        closeQuietly(segment);
+        synchronized (sealed.get(stripe)) {
+            sealed.get(stripe).add(segment);
+        }
+    }
+
+    // Deletes sealed segments whose entries are all covered by the committed checkpoint.
+    void release(int stripe, long committedSeq) {
+        List<Segment> segments = sealed.get(stripe);
+        synchronized (segments) {
+            segments.removeIf(segment -> {
+                if (segment.maxSeq > committedSeq) {
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(segment.path);
+                    return true;
+                } catch (IOException e) {
+                    log.warn("Failed to delete flushed vote journal segment {}: {}", segment.path, e.getMessage());
+                    return false;
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; i < active.length; i++) {
+            if (active[i] != null) {
+                closeQuietly(active[i]);
+                if (!active[i].hasEntries) {
+                    try {
+                        Files.deleteIfExists(active[i].path);
+                    } catch (IOException ignored) {
+                        // Empty segments are harmless on replay
+                    }
+                }
+                active[i] = null;
+            }
+        }
+    }
+
+    private Segment open(int stripe) {
+        Path path = directory.resolve(String.format("stripe-%03d-%019d%s", stripe, nextGeneration[stripe]++, SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            return new Segment(path, channel, 0L, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open vote journal segment " + path, e);
+        }
+    }
+
+    private List<Path> listSegments(int stripe) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, String.format("stripe-%03d-*%s", stripe, SUFFIX))) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list vote journal directory " + directory, e);
+        }
+        files.sort(null); // zero-padded generation keeps lexical order == write order
+        return files;
+    }
+
+    // The checkpoints that decide what to replay are stored per instance ID, so a journal must never be picked up
+    // under a different ID: its sequences would be compared against another instance's checkpoints.
+    private void checkOwner(String instanceId) {
+        Path owner = directory.resolve(OWNER_FILE);
+        try {
+            if (Files.exists(owner)) {
+                String recorded = Files.readString(owner, StandardCharsets.US_ASCII).trim();
+                if (!recorded.equals(instanceId)) {
+                    throw new IllegalStateException("Vote journal " + directory + " belongs to instance '" + recorded
+                            + "' but this instance is configured as '" + instanceId + "'");
+                }
+            } else {
+                Files.writeString(owner, instanceId, StandardCharsets.US_ASCII);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the owner of vote journal " + directory, e);
+        }
+    }
+
+    private void checkNoForeignStripes(int stripes) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "stripe-*" + SUFFIX)) {
+            for (Path file : stream) {
+                int stripe = Integer.parseInt(file.getFileName().toString().substring(7, 10));
+                if (stripe >= stripes) {
+                    throw new IllegalStateException("Vote journal contains segments for stripe " + stripe
+                            + " but only " + stripes + " stripes are configured; flush them before changing the stripe count");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list vote journal directory " + directory, e);
+        }
+    }
+
+    private static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(11, name.length() - SUFFIX.length()));
+    }
+
+    private static PendingVote parse(String line) {
+        String[] parts = line.split(" ");
+        if (parts.length != 5 || parts[3].length() != 1) {
+            return null;
+        }
+        try {
+            VoteEntity.VoteType type = switch (parts[3].charAt(0)) {
+                case 'U' -> VoteEntity.VoteType.UPVOTE;
+                case 'D' -> VoteEntity.VoteType.DOWNVOTE;
+                default -> null;
+            };
+            if (type == null) {
+                return null;
+            }
+            return new PendingVote(Long.parseLong(parts[0]), UUID.fromString(parts[1]), UUID.fromString(parts[2]),
+                    type, Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        if (segment.channel == null) {
+            return;
+        }
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close vote journal segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        final FileChannel channel;
+        volatile long maxSeq;
+        boolean hasEntries;
+
+        Segment(Path path, FileChannel channel, long maxSeq, boolean hasEntries) {
+            this.path = path;
+            this.channel = channel;
+            this.maxSeq = maxSeq;
+            this.hasEntries = hasEntries;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.prajaavaani.backend.service;
+
+/**
+ * State derived from the {@link VoteEventLog}. The {@link VoteEventProjector} feeds every projection bean
+ * the log in order from a single thread, so implementations only need to make their reads safe for other threads.
+ */
+public interface VoteProjection {
+
+    // Stable name used for metrics and for VoteEventProjector.replay
+    String name();
+
+    void apply(VoteEvent event);
+
+    // Drops all state ahead of a replay
+    void reset();
+}
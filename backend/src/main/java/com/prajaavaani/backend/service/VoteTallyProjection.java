@@ -0,0 +1,94 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.LocationRef;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-concern vote counters folded from the event log, plus a per-location index so a location's
+ * leaderboard can be ranked from the projection alone. Counters only cover votes recorded in the log:
+ * they equal {@code concerns.upvotes/downvotes} for concerns created after {@link VoteEventLog#completeSinceMillis()}.
+ */
+@Service
+public class VoteTallyProjection implements VoteProjection {
+
+    public static final String NAME = "tally";
+
+    private final Map<UUID, Tally> tallies = new ConcurrentHashMap<>();
+    private final Map<LocationRef, Set<UUID>> byLocation = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void apply(VoteEvent event) {
+        Tally tally = tallies.computeIfAbsent(event.concernId(), id -> {
+            LocationRef location = new LocationRef(event.level(), event.locationIdentifier());
+            byLocation.computeIfAbsent(location, ref -> ConcurrentHashMap.newKeySet()).add(id);
+            return new Tally();
+        });
+        // Single writer (the projector thread); the volatile writes make each counter visible to readers
+        tally.upvotes += event.upvoteDelta();
+        tally.downvotes += event.downvoteDelta();
+    }
+
+    @Override
+    public void reset() {
+        tallies.clear();
+        byLocation.clear();
+    }
+
+    // Counts for a concern, or null if the log holds no votes for it
+    public Counts counts(UUID concernId) {
+        Tally tally = tallies.get(concernId);
+        return tally == null ? null : new Counts(tally.upvotes, tally.downvotes);
+    }
+
+    public void forEach(BiConsumer<UUID, Counts> action) {
+        tallies.forEach((id, tally) -> action.accept(id, new Counts(tally.upvotes, tally.downvotes)));
+    }
+
+    // Concern IDs of the location ranked by projected net votes (ties by ID, descending), at most limit of them
+    public List<UUID> top(LocationRef location, int limit) {
+        Set<UUID> ids = byLocation.get(location);
+        if (ids == null) {
+            return List.of();
+        }
+        List<Map.Entry<UUID, Integer>> ranked = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Tally tally = tallies.get(id);
+            if (tally != null) {
+                ranked.add(Map.entry(id, tally.upvotes - tally.downvotes));
+            }
+        }
+        ranked.sort(Map.Entry.<UUID, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        List<UUID> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            top.add(ranked.get(i).getKey());
+        }
+        return top;
+    }
+
+    public record Counts(int upvotes, int downvotes) {
+
+        public int netVotes() {
+            return upvotes - downvotes;
+        }
+    }
+
+    private static final class Tally {
+        volatile int upvotes;
+        volatile int downvotes;
+    }
+}
@@ -0,0 +1,480 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteWriteBehindProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.LocationRef;
+import com.prajaavaani.backend.model.TimeOrderedUuidGenerator;
+import com.prajaavaani.backend.model.VoteEntity;
+import com.prajaavaani.backend.model.VoteFlushCheckpointEntity;
+import com.prajaavaani.backend.repository.ConcernRepository;
+import com.prajaavaani.backend.repository.VoteFlushCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind vote ingestion. Accepted votes are journaled and buffered per stripe (stripe chosen by concern ID,
+ * so every vote for a concern is ordered within one stripe) and periodically applied to {@code votes} and the
+ * {@code concerns} counters as JDBC batches. Toggle/change semantics are resolved at flush time against the
+ * current {@code votes} rows, so the request thread never touches the database.
+ *
+ * The journal lives on local disk, so flush checkpoints are kept per {@code instance-id}; each instance that writes
+ * behind needs a distinct, stable ID and its own journal directory.
+ */
+@Service
+public class VoteWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteWriteBehindService.class);
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    private final VoteWriteBehindProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VoteFlushCheckpointRepository checkpointRepository;
+    private final MeterRegistry meterRegistry;
+    private final VoteEventLog voteEventLog;
+    private final TrendingLeaderboard trendingLeaderboard;
+    private final ConcernRepository concernRepository;
+    private final LeaderboardCache leaderboardCache;
+    private final LeaderboardRollupService leaderboardRollupService;
+    private final ConcernSearchIndex concernSearchIndex;
+
+    private Stripe[] stripes;
+    private VoteJournal journal;
+    private ScheduledExecutorService flusher;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private Timer flushTimer;
+    private Counter flushedVotes;
+    private Counter droppedVotes;
+    private Counter flushFailures;
+
+    public VoteWriteBehindService(VoteWriteBehindProperties properties,
+                                  NamedParameterJdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  VoteFlushCheckpointRepository checkpointRepository,
+                                  MeterRegistry meterRegistry,
+                                  VoteEventLog voteEventLog,
+                                  TrendingLeaderboard trendingLeaderboard,
+                                  ConcernRepository concernRepository,
+                                  LeaderboardCache leaderboardCache,
+                                  LeaderboardRollupService leaderboardRollupService,
+                                  ConcernSearchIndex concernSearchIndex) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointRepository = checkpointRepository;
+        this.meterRegistry = meterRegistry;
+        this.voteEventLog = voteEventLog;
+        this.trendingLeaderboard = trendingLeaderboard;
+        this.concernRepository = concernRepository;
+        this.leaderboardCache = leaderboardCache;
+        this.leaderboardRollupService = leaderboardRollupService;
+        this.concernSearchIndex = concernSearchIndex;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int stripeCount = properties.getStripes();
+        stripes = new Stripe[stripeCount];
+        String instanceId = properties.getInstanceId();
+        journal = new VoteJournal(Path.of(properties.getJournalDirectory()), instanceId, stripeCount, properties.isFsync());
+
+        Map<Integer, Long> checkpoints = new HashMap<>();
+        for (VoteFlushCheckpointEntity checkpoint : checkpointRepository.findByInstanceId(instanceId)) {
+            checkpoints.put(checkpoint.getStripe(), checkpoint.getLastSeq());
+        }
+        int replayed = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            long checkpointSeq = checkpoints.getOrDefault(i, 0L);
+            if (!checkpoints.containsKey(i)) {
+                checkpointRepository.save(new VoteFlushCheckpointEntity(instanceId, i, 0L));
+            }
+            Stripe stripe = new Stripe();
+            stripe.seq = checkpointSeq;
+            for (PendingVote vote : journal.replay(i, checkpointSeq)) {
+                stripe.pending.addLast(vote);
+                stripe.seq = Math.max(stripe.seq, vote.seq());
+            }
+            replayed += stripe.pending.size();
+            stripes[i] = stripe;
+        }
+        pendingCount.set(replayed);
+        if (replayed > 0) {
+            log.info("Replayed {} unflushed votes from journal {}", replayed, properties.getJournalDirectory());
+        }
+
+        Gauge.builder("prajaavaani.votes.writebehind.pending", pendingCount, AtomicLong::get)
+                .description("Votes accepted but not yet flushed to the database")
+                .register(meterRegistry);
+        Gauge.builder("prajaavaani.votes.writebehind.flush.lag", this, VoteWriteBehindService::flushLagSeconds)
+                .description("Age of the oldest unflushed vote")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("prajaavaani.votes.writebehind.flush")
+                .description("Time to apply one stripe batch")
+                .register(meterRegistry);
+        flushedVotes = meterRegistry.counter("prajaavaani.votes.writebehind.flushed");
+        droppedVotes = meterRegistry.counter("prajaavaani.votes.writebehind.dropped");
+        flushFailures = meterRegistry.counter("prajaavaani.votes.writebehind.flush.failures");
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll(); // Best effort; anything left is replayed from the journal on next start
+        journal.close();
+    }
+
+    // Journals and buffers a vote. Returns without any database access.
+    public void enqueue(UUID userId, UUID concernId, VoteEntity.VoteType voteType) {
+        int index = stripeIndex(concernId);
+        Stripe stripe = stripes[index];
+        stripe.lock.lock();
+        try {
+            PendingVote vote = new PendingVote(++stripe.seq, userId, concernId, voteType, System.currentTimeMillis());
+            journal.append(index, vote);
+            stripe.pending.addLast(vote);
+        } finally {
+            stripe.lock.unlock();
+        }
+        pendingCount.incrementAndGet();
+    }
+
+    void flushAll() {
+        for (int i = 0; i < stripes.length; i++) {
+            try {
+                flushStripe(i);
+            } catch (RuntimeException e) {
+                // Never let one failure cancel the scheduled flusher
+                log.error("Vote write-behind flush failed for stripe {}: {}", i, e.getMessage());
+            }
+        }
+    }
+
+    private void flushStripe(int index) {
+        Stripe stripe = stripes[index];
+        List<PendingVote> batch;
+        stripe.lock.lock();
+        try {
+            if (stripe.pending.isEmpty()) {
+                return;
+            }
+            int size = Math.min(stripe.pending.size(), properties.getMaxBatchSize());
+            batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(stripe.pending.pollFirst());
+            }
+            journal.roll(index);
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        long committedSeq = batch.get(batch.size() - 1).seq();
+        List<AppliedVote> appliedVotes = new ArrayList<>(batch.size());
+        try {
+            int applied = flushTimer.record(() -> applyBatch(index, batch, committedSeq, appliedVotes));
+            pendingCount.addAndGet(-batch.size());
+            flushedVotes.increment(applied);
+            droppedVotes.increment(batch.size() - applied);
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            stripe.lock.lock();
+            try {
+                // Put the batch back in front, preserving order, so the next cycle retries it
+                for (int i = batch.size() - 1; i >= 0; i--) {
+                    stripe.pending.addFirst(batch.get(i));
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+            throw e;
+        }
+        journal.release(index, committedSeq);
+        Set<UUID> changedConcerns = new LinkedHashSet<>();
+        for (AppliedVote vote : appliedVotes) {
+            voteEventLog.append(vote.userId(), vote.concernId(), vote.outcome(), vote.voteType(),
+                    vote.location().level(), vote.location().identifier());
+            trendingLeaderboard.onVote(vote.location().level(), vote.location().identifier(), vote.concernId(),
+                    vote.netDelta(), vote.acceptedAtMillis());
+            changedConcerns.add(vote.concernId());
+        }
+        notifyConcernsUpdated(changedConcerns);
+    }
+
+    // The same hooks castVote runs after commit, fed with the committed counts of every concern the batch changed.
+    // The batch is already durable, so a failed read-back only leaves the caches to their staleness reload.
+    private void notifyConcernsUpdated(Set<UUID> concernIds) {
+        try {
+            for (List<UUID> chunk : chunks(concernIds)) {
+                for (ConcernDto concern : concernRepository.findDtosByIds(chunk)) {
+                    leaderboardCache.onConcernUpdated(concern);
+                    leaderboardRollupService.onConcernUpdated(concern);
+                    concernSearchIndex.onConcernUpdated(concern);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh leaderboards after a vote flush: {}", e.getMessage());
+        }
+    }
+
+    // Applies one ordered batch and advances the stripe checkpoint in the same transaction.
+    // Returns how many votes were applied (votes for deleted concerns/users are dropped) and fills appliedVotes
+    // with the outcome each one resolved to.
+    private int applyBatch(int stripe, List<PendingVote> batch, long committedSeq, List<AppliedVote> appliedVotes) {
+        Integer applied = transactionTemplate.execute(status -> {
+            appliedVotes.clear();
+            Set<UUID> concernIds = new HashSet<>();
+            Set<UUID> userIds = new HashSet<>();
+            for (PendingVote vote : batch) {
+                concernIds.add(vote.concernId());
+                userIds.add(vote.userId());
+            }
+            Map<UUID, LocationRef> concernLocations = concernLocations(concernIds);
+            Set<UUID> liveConcerns = concernLocations.keySet();
+            Set<UUID> liveUsers = existingIds("SELECT id FROM users WHERE id IN (:ids)", userIds);
+            Map<VoteKey, VoteEntity.VoteType> original = existingVotes(liveConcerns, liveUsers);
+
+            Map<VoteKey, VoteEntity.VoteType> current = new HashMap<>(original);
+            Map<UUID, int[]> deltas = new HashMap<>(); // concernId -> {up, down}
+            int count = 0;
+            for (PendingVote vote : batch) {
+                if (!liveConcerns.contains(vote.concernId()) || !liveUsers.contains(vote.userId())) {
+                    continue;
+                }
+                count++;
+                VoteKey key = new VoteKey(vote.userId(), vote.concernId());
+                int[] delta = deltas.computeIfAbsent(vote.concernId(), id -> new int[2]);
+                VoteEntity.VoteType existing = current.get(key);
+                int sign = vote.voteType() == VoteEntity.VoteType.UPVOTE ? 1 : -1;
+                HotPathMetrics.VoteOutcome outcome;
+                int netDelta;
+                if (existing == null) {
+                    current.put(key, vote.voteType());
+                    adjust(delta, vote.voteType(), 1);
+                    outcome = HotPathMetrics.VoteOutcome.NEW;
+                    netDelta = sign;
+                } else if (existing == vote.voteType()) {
+                    current.remove(key); // Same vote again toggles it off
+                    adjust(delta, existing, -1);
+                    outcome = HotPathMetrics.VoteOutcome.TOGGLE_OFF;
+                    netDelta = -sign;
+                } else {
+                    current.put(key, vote.voteType());
+                    adjust(delta, existing, -1);
+                    adjust(delta, vote.voteType(), 1);
+                    outcome = HotPathMetrics.VoteOutcome.CHANGE;
+                    netDelta = 2 * sign;
+                }
+                appliedVotes.add(new AppliedVote(vote.userId(), vote.concernId(), outcome, vote.voteType(),
+                        concernLocations.get(vote.concernId()), netDelta, vote.acceptedAtMillis()));
+            }
+
+            List<MapSqlParameterSource> deletes = new ArrayList<>();
+            List<MapSqlParameterSource> updates = new ArrayList<>();
+            List<MapSqlParameterSource> inserts = new ArrayList<>();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            Set<VoteKey> touched = new HashSet<>(original.keySet());
+            touched.addAll(current.keySet());
+            for (VoteKey key : touched) {
+                VoteEntity.VoteType before = original.get(key);
+                VoteEntity.VoteType after = current.get(key);
+                if (Objects.equals(before, after)) {
+                    continue;
+                }
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("userId", key.userId())
+                        .addValue("concernId", key.concernId());
+                if (after == null) {
+                    deletes.add(params);
+                } else if (before == null) {
+                    inserts.add(params.addValue("id", TimeOrderedUuidGenerator.next()).addValue("voteType", after.name()).addValue("now", now));
+                } else {
+                    updates.add(params.addValue("voteType", after.name()));
+                }
+            }
+            batchUpdate("DELETE FROM votes WHERE user_id = :userId AND concern_id = :concernId", deletes);
+            batchUpdate("UPDATE votes SET vote_type = :voteType WHERE user_id = :userId AND concern_id = :concernId", updates);
+            batchUpdate("INSERT INTO votes (id, user_id, concern_id, vote_type, timestamp) "
+                    + "VALUES (:id, :userId, :concernId, :voteType, :now)", inserts);
+
+            List<MapSqlParameterSource> counters = new ArrayList<>(deltas.size());
+            deltas.forEach((concernId, delta) -> {
+                if (delta[0] != 0 || delta[1] != 0) {
+                    counters.add(new MapSqlParameterSource()
+                            .addValue("id", concernId)
+                            .addValue("up", delta[0])
+                            .addValue("down", delta[1])
+                            .addValue("net", delta[0] - delta[1])
+                            .addValue("now", now));
+                }
+            });
+            batchUpdate("UPDATE concerns SET upvotes = upvotes + :up, downvotes = downvotes + :down, "
+                    + "net_votes = net_votes + :net, updated_at = :now WHERE id = :id", counters);
+
+            jdbcTemplate.update("UPDATE vote_flush_checkpoints SET last_seq = :seq "
+                    + "WHERE instance_id = :instance AND stripe = :stripe", new MapSqlParameterSource()
+                    .addValue("seq", committedSeq).addValue("instance", properties.getInstanceId()).addValue("stripe", stripe));
+            return count;
+        });
+        return applied == null ? 0 : applied;
+    }
+
+    private Set<UUID> existingIds(String sql, Collection<UUID> ids) {
+        Set<UUID> found = new HashSet<>();
+        for (List<UUID> chunk : chunks(ids)) {
+            found.addAll(jdbcTemplate.queryForList(sql, new MapSqlParameterSource("ids", chunk), UUID.class));
+        }
+        return found;
+    }
+
+    private Map<UUID, LocationRef> concernLocations(Collection<UUID> ids) {
+        Map<UUID, LocationRef> locations = new HashMap<>();
+        for (List<UUID> chunk : chunks(ids)) {
+            jdbcTemplate.query("SELECT id, geographic_level, location_identifier FROM concerns WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", chunk),
+                    rs -> {
+                        locations.put(rs.getObject(1, UUID.class),
+                                new LocationRef(GeographicLevel.valueOf(rs.getString(2)), rs.getString(3)));
+                    });
+        }
+        return locations;
+    }
+
+    private Map<VoteKey, VoteEntity.VoteType> existingVotes(Collection<UUID> concernIds, Collection<UUID> userIds) {
+        Map<VoteKey, VoteEntity.VoteType> votes = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return votes;
+        }
+        for (List<UUID> concernChunk : chunks(concernIds)) {
+            for (List<UUID> userChunk : chunks(userIds)) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("concernIds", concernChunk)
+                        .addValue("userIds", userChunk);
+                jdbcTemplate.query("SELECT user_id, concern_id, vote_type FROM votes "
+                                + "WHERE concern_id IN (:concernIds) AND user_id IN (:userIds)", params,
+                        rs -> {
+                            votes.put(new VoteKey(rs.getObject("user_id", UUID.class), rs.getObject("concern_id", UUID.class)),
+                                    VoteEntity.VoteType.valueOf(rs.getString("vote_type")));
+                        });
+            }
+        }
+        return votes;
+    }
+
+    private void batchUpdate(String sql, List<MapSqlParameterSource> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows.toArray(new MapSqlParameterSource[0]));
+        }
+    }
+
+    private double flushLagSeconds() {
+        long oldest = Long.MAX_VALUE;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                PendingVote head = stripe.pending.peekFirst();
+                if (head != null) {
+                    oldest = Math.min(oldest, head.acceptedAtMillis());
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return oldest == Long.MAX_VALUE ? 0.0 : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    private int stripeIndex(UUID concernId) {
+        return Math.floorMod(concernId.hashCode(), stripes.length);
+    }
+
+    private static void adjust(int[] delta, VoteEntity.VoteType type, int amount) {
+        if (type == VoteEntity.VoteType.UPVOTE) {
+            delta[0] += amount;
+        } else {
+            delta[1] += amount;
+        }
+    }
+
+    private static List<List<UUID>> chunks(Collection<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        List<UUID> current = new ArrayList<>(Math.min(ids.size(), IN_CLAUSE_CHUNK));
+        for (UUID id : ids) {
+            current.add(id);
+            if (current.size() == IN_CLAUSE_CHUNK) {
+                chunks.add(current);
+                current = new ArrayList<>(IN_CLAUSE_CHUNK);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private record VoteKey(UUID userId, UUID concernId) {
+    }
+
+    private record AppliedVote(UUID userId, UUID concernId, HotPathMetrics.VoteOutcome outcome,
+                               VoteEntity.VoteType voteType, LocationRef location, int netDelta, long acceptedAtMillis) {
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final ArrayDeque<PendingVote> pending = new ArrayDeque<>();
+        long seq;
+    }
+}
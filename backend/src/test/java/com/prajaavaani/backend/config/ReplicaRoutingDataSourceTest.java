@@ -0,0 +1,125 @@
+package com.prajaavaani.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routing decisions of {@link ReplicaRoutingDataSource} against three throwaway in-memory databases standing in for
+ * the primary and two replicas. Each one names itself in a {@code node} table, so a query shows where it ran.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (routing != null) {
+            routing.stop();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAHealthyReplica() {
+        start(Duration.ZERO, Duration.ZERO);
+
+        assertEquals("replica-0", inTransaction(true));
+        assertEquals("replica-1", inTransaction(true));
+    }
+
+    @Test
+    void readWriteTransactionsAndPlainStatementsGoToThePrimary() {
+        start(Duration.ZERO, Duration.ZERO);
+
+        assertEquals("primary", inTransaction(false));
+        assertEquals("primary", jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    void aUserWhoJustWroteReadsFromThePrimary() {
+        start(Duration.ZERO, Duration.ZERO);
+        UUID writer = UUID.randomUUID();
+        signIn(writer);
+        inTransaction(false);
+
+        assertEquals("primary", inTransaction(true));
+
+        signIn(UUID.randomUUID());
+        assertEquals("replica-0", inTransaction(true));
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        start(Duration.ZERO, Duration.ofHours(1));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-0", inTransaction(true));
+        }
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenEveryReplicaLags() {
+        start(Duration.ofHours(1), Duration.ofHours(1));
+
+        assertEquals("primary", inTransaction(true));
+    }
+
+    // Starts routing over a fresh primary and two replicas whose heartbeat copies are the given age
+    private void start(Duration replica0Lag, Duration replica1Lag) {
+        String run = UUID.randomUUID().toString();
+        DataSource primary = database(run, "primary", null);
+        List<DataSource> replicas = List.of(database(run, "replica-0", replica0Lag), database(run, "replica-1", replica1Lag));
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties();
+        properties.setMaxLag(Duration.ofSeconds(30));
+        properties.setLagCheckInterval(Duration.ofHours(1));
+        routing = new ReplicaRoutingDataSource(properties, primary, replicas, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        routing.start();
+        // As in ReplicaRoutingConfig: the proxy delays routing until the transaction's read-only flag is set
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private String inTransaction(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void signIn(UUID userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "9876543210");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static DataSource database(String run, String name, Duration heartbeatAge) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + run + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        if (heartbeatAge != null) {
+            jdbc.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+            jdbc.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)",
+                    System.currentTimeMillis() - heartbeatAge.toMillis());
+        }
+        return dataSource;
+    }
+}
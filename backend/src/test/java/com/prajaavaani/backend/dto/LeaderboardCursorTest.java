@@ -0,0 +1,37 @@
+package com.prajaavaani.backend.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LeaderboardCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        LeaderboardCursor cursor = new LeaderboardCursor(-7, LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_789), UUID.randomUUID());
+        assertEquals(cursor, LeaderboardCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void rejectsOutOfRangeNanos() {
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCursor.decode(encode(0, 1_000_000_000)));
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCursor.decode(encode(0, -1)));
+    }
+
+    @Test
+    void rejectsOutOfRangeEpochSecond() {
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCursor.decode(encode(Long.MAX_VALUE, 0)));
+    }
+
+    private static String encode(long epochSecond, int nano) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + Integer.BYTES + 2 * Long.BYTES);
+        buffer.putInt(1).putLong(epochSecond).putInt(nano).putLong(1L).putLong(2L);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
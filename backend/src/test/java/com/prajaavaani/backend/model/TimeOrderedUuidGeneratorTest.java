@@ -0,0 +1,48 @@
+package com.prajaavaani.backend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void idsFromATightLoopAreStrictlyIncreasing() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.next();
+            assertTrue(next.compareTo(previous) > 0, previous + " then " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void carriesIntoTheNextMillisecondWhenTheCounterRunsOut() {
+        // A full counter on a millisecond the clock will not reach during the test
+        long millis = System.currentTimeMillis() + 60_000;
+        TimeOrderedUuidGenerator.last.set((millis << TimeOrderedUuidGenerator.COUNTER_BITS)
+                | TimeOrderedUuidGenerator.COUNTER_MASK);
+
+        UUID first = TimeOrderedUuidGenerator.next();
+        UUID second = TimeOrderedUuidGenerator.next();
+
+        assertEquals(millis + 1, first.getMostSignificantBits() >>> 16);
+        assertEquals(0, first.getMostSignificantBits() & 0xfff);
+        assertEquals(1, second.getMostSignificantBits() & 0xfff);
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        // Carried-forward timestamps may run ahead of the clock, never behind it
+        assertTrue(id.getMostSignificantBits() >>> 16 >= before);
+    }
+}
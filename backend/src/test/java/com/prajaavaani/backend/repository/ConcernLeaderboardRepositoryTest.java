@@ -0,0 +1,68 @@
+package com.prajaavaani.backend.repository;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.LeaderboardCursor;
+import com.prajaavaani.backend.model.GeographicLevel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcernLeaderboardRepositoryTest {
+
+    private static final String LOCATION = "KeysetTies";
+    private static final int CONCERNS = 53;
+
+    @Autowired
+    private ConcernRepository concernRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void keysetWindowsPageThroughTiesWithoutGapsOrDuplicates() {
+        // Three distinct vote counts and two distinct timestamps, so most rows tie on both and only the ID separates them
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<Object[]> rows = new ArrayList<>(CONCERNS);
+        for (int i = 0; i < CONCERNS; i++) {
+            Timestamp createdAt = Timestamp.valueOf(base.plusMinutes(i % 2));
+            int netVotes = i % 3;
+            rows.add(new Object[]{UUID.randomUUID(), "Concern " + i, netVotes, netVotes, LOCATION, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO concerns (id, text, upvotes, downvotes, net_votes, geographic_level, "
+                + "location_identifier, created_at, updated_at) VALUES (?, ?, ?, 0, ?, 'CITY', ?, ?, ?)", rows);
+
+        List<UUID> expected = concernRepository.findLeaderboardPage(GeographicLevel.CITY, LOCATION,
+                        ConcernLeaderboardRepository.FULL_TEXT, 0, CONCERNS + 10).stream()
+                .map(ConcernDto::getId)
+                .toList();
+        assertEquals(CONCERNS, expected.size());
+
+        List<UUID> paged = new ArrayList<>();
+        LeaderboardCursor after = null;
+        while (true) {
+            List<ConcernDto> window = concernRepository.findLeaderboardWindow(GeographicLevel.CITY, LOCATION, after,
+                    ConcernLeaderboardRepository.FULL_TEXT, 7);
+            if (window.isEmpty()) {
+                break;
+            }
+            window.forEach(concern -> paged.add(concern.getId()));
+            after = LeaderboardCursor.of(window.get(window.size() - 1));
+        }
+
+        assertEquals(CONCERNS, new HashSet<>(paged).size(), "no duplicates");
+        assertEquals(expected, paged, "same order as the offset query, with no gaps");
+    }
+}
@@ -0,0 +1,114 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.CreateConcernRequest;
+import com.prajaavaani.backend.dto.VoteRequest;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.VoteEntity;
+import com.prajaavaani.backend.repository.ConcernRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Casts, toggles and changes votes on a single concern from many threads at once, with the same user often
+ * voting on two threads simultaneously, and checks that the atomic counters agree exactly with the votes rows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConcernServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int VOTES_PER_THREAD = 150;
+    private static final int USERS = 200;
+
+    @Autowired
+    private ConcernService concernService;
+
+    @Autowired
+    private ConcernRepository concernRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countersMatchVoteRowsUnderConcurrentVoting() throws Exception {
+        List<UUID> users = seedUsers();
+        CreateConcernRequest create = new CreateConcernRequest();
+        create.setText("Streetlights on the ring road have been out for a month");
+        create.setGeographicLevel(GeographicLevel.CITY);
+        create.setLocationIdentifier("Concurrency");
+        UUID concernId = concernService.createConcern(create, users.get(0)).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                        VoteRequest vote = new VoteRequest();
+                        vote.setConcernId(concernId);
+                        vote.setVoteType(random.nextBoolean() ? VoteEntity.VoteType.UPVOTE : VoteEntity.VoteType.DOWNVOTE);
+                        try {
+                            concernService.castVote(vote, users.get(random.nextInt(USERS)));
+                        } catch (IllegalStateException e) {
+                            // Retries exhausted for one user's parallel votes; the request fails as a whole
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int upvoteRows = countVotes(concernId, VoteEntity.VoteType.UPVOTE);
+        int downvoteRows = countVotes(concernId, VoteEntity.VoteType.DOWNVOTE);
+        ConcernDto concern = concernRepository.findDtoById(concernId).orElseThrow();
+        assertEquals(upvoteRows, concern.getUpvotes());
+        assertEquals(downvoteRows, concern.getDownvotes());
+        assertEquals(upvoteRows - downvoteRows, concern.getNetVotes());
+    }
+
+    private List<UUID> seedUsers() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UUID> ids = new ArrayList<>(USERS);
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            rows.add(new Object[]{id, String.format("61%08d", i), true, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, mobile_number, is_verified, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+        return ids;
+    }
+
+    private int countVotes(UUID concernId, VoteEntity.VoteType voteType) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM votes WHERE concern_id = ? AND vote_type = ?",
+                Integer.class, concernId, voteType.name());
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,25 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpStoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class InMemoryOtpStoreTest extends OtpStoreContractTest {
+
+    private final List<InMemoryOtpStore> stores = new ArrayList<>();
+
+    @Override
+    protected OtpStore createStore(OtpStoreProperties properties) {
+        InMemoryOtpStore store = new InMemoryOtpStore(properties, new SimpleMeterRegistry());
+        stores.add(store);
+        return store;
+    }
+
+    @AfterEach
+    void stopStores() {
+        stores.forEach(InMemoryOtpStore::stop);
+    }
+}
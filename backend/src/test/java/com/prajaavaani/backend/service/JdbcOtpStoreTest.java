@@ -0,0 +1,39 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpStoreProperties;
+import com.prajaavaani.backend.repository.OtpCodeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcOtpStoreTest extends OtpStoreContractTest {
+
+    @Autowired
+    private OtpCodeRepository otpCodeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<JdbcOtpStore> stores = new ArrayList<>();
+
+    @Override
+    protected OtpStore createStore(OtpStoreProperties properties) {
+        JdbcOtpStore store = new JdbcOtpStore(otpCodeRepository, properties, transactionManager, new SimpleMeterRegistry());
+        store.start();
+        stores.add(store);
+        return store;
+    }
+
+    @AfterEach
+    void stopStores() {
+        stores.forEach(JdbcOtpStore::stop);
+    }
+}
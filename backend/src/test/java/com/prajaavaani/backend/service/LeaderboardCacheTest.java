@@ -0,0 +1,76 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.LeaderboardCacheProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.GeographicLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void evictsTheColdestBoardWhenCachedTextExceedsTheLimit() throws InterruptedException {
+        LeaderboardCacheProperties properties = new LeaderboardCacheProperties();
+        properties.setMaxTextChars(25_000);
+        LeaderboardCache cache = new LeaderboardCache(properties, meterRegistry);
+
+        cache.put(GeographicLevel.CITY, "Pune", board("Pune", 2, 5_000), 2);
+        cache.put(GeographicLevel.CITY, "Nashik", board("Nashik", 2, 5_000), 2);
+        Thread.sleep(1);
+        assertTrue(cache.getPage(GeographicLevel.CITY, "Nashik", PageRequest.of(0, 2)).isPresent());
+        cache.put(GeographicLevel.CITY, "Nagpur", board("Nagpur", 2, 5_000), 2);
+
+        // Pune was read least recently, so it made room for Nagpur; the two boards left fit the limit
+        assertTrue(cache.getPage(GeographicLevel.CITY, "Pune", PageRequest.of(0, 2)).isEmpty());
+        assertTrue(cache.getPage(GeographicLevel.CITY, "Nashik", PageRequest.of(0, 2)).isPresent());
+        assertTrue(cache.getPage(GeographicLevel.CITY, "Nagpur", PageRequest.of(0, 2)).isPresent());
+        assertEquals(20_000, gauge("prajaavaani.leaderboard.cache.text.chars"));
+        assertEquals(4, gauge("prajaavaani.leaderboard.cache.entries"));
+    }
+
+    @Test
+    void tracksTextOfUpdatedAndRemovedConcerns() {
+        LeaderboardCache cache = new LeaderboardCache(new LeaderboardCacheProperties(), meterRegistry);
+        List<ConcernDto> top = board("Pune", 3, 100);
+        cache.put(GeographicLevel.CITY, "Pune", top, 3);
+
+        ConcernDto edited = concern("Pune", top.get(1).getId(), 10, 400);
+        edited.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+        cache.onConcernUpdated(edited);
+        assertEquals(600, gauge("prajaavaani.leaderboard.cache.text.chars"));
+
+        cache.onConcernRemoved(edited);
+        assertEquals(0, gauge("prajaavaani.leaderboard.cache.text.chars"));
+        assertEquals(0, gauge("prajaavaani.leaderboard.cache.entries"));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    // count concerns in RANKING order, each with text of the given length
+    private static List<ConcernDto> board(String location, int count, int textLength) {
+        List<ConcernDto> ranked = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ranked.add(concern(location, UUID.randomUUID(), count - i, textLength));
+        }
+        return ranked;
+    }
+
+    private static ConcernDto concern(String location, UUID id, int netVotes, int textLength) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ConcernDto(id, null, null, "x".repeat(textLength), netVotes, 0, netVotes, GeographicLevel.CITY,
+                location, now, now);
+    }
+}
@@ -0,0 +1,114 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.model.ConcernEntity;
+import com.prajaavaani.backend.model.GeographicLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * A leaderboard page must cost the same number of statements whether it holds 5 concerns or 50: reading each
+ * concern's author ID may never load the author row (no N+1 through the lazy association).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "prajaavaani.leaderboard.cache.enabled=false"})
+@ActiveProfiles("test")
+class LeaderboardStatementCountTest {
+
+    private static final String LOCATION = "StatementCount";
+    private static final int CONCERNS = 60;
+
+    @Autowired
+    private ConcernService concernService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        jdbcTemplate.update("DELETE FROM concerns WHERE location_identifier = ?", LOCATION);
+        jdbcTemplate.update("DELETE FROM users WHERE mobile_number LIKE '62%'");
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>(CONCERNS);
+        List<Object[]> concerns = new ArrayList<>(CONCERNS);
+        for (int i = 0; i < CONCERNS; i++) {
+            UUID authorId = UUID.randomUUID();
+            users.add(new Object[]{authorId, String.format("62%08d", i), true, now, now});
+            concerns.add(new Object[]{UUID.randomUUID(), authorId, "Author " + i, "Concern " + i,
+                    i, 0, i, GeographicLevel.CITY.name(), LOCATION, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, mobile_number, is_verified, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO concerns (id, author_id, author_name, text, upvotes, downvotes, net_votes, "
+                + "geographic_level, location_identifier, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", concerns);
+    }
+
+    @Test
+    void leaderboardPageStatementCountDoesNotGrowWithPageSize() {
+        assertEquals(leaderboardStatements(5), leaderboardStatements(50));
+    }
+
+    @Test
+    void readingAuthorIdsOfLoadedConcernsIssuesNoExtraStatements() {
+        assertEquals(1, entityPageStatements(5));
+        assertEquals(1, entityPageStatements(50));
+    }
+
+    private long leaderboardStatements(int size) {
+        statistics.clear();
+        Page<ConcernDto> page = concernService.getLeaderboard(GeographicLevel.CITY, LOCATION, PageRequest.of(0, size), null);
+        assertEquals(size, page.getNumberOfElements());
+        page.forEach(concern -> assertNotNull(concern.getAuthorId()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long entityPageStatements(int size) {
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<ConcernEntity> concerns = entityManager.createQuery(
+                            "SELECT c FROM ConcernEntity c WHERE c.locationIdentifier = :location ORDER BY c.netVotes DESC",
+                            ConcernEntity.class)
+                    .setParameter("location", LOCATION)
+                    .setMaxResults(size)
+                    .getResultList();
+            assertEquals(size, concerns.size());
+            concerns.forEach(concern -> assertNotNull(concern.getAuthorId()));
+        });
+        assertEquals(size, statistics.getEntityLoadCount(), "only the concerns themselves are loaded");
+        return statistics.getPrepareStatementCount();
+    }
+}
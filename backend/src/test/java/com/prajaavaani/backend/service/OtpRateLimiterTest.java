@@ -0,0 +1,106 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpRateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OtpRateLimiterTest {
+
+    private static final String IP = "203.0.113.7";
+
+    private OtpRateLimiter limiter;
+
+    @AfterEach
+    void stopLimiter() {
+        if (limiter != null) {
+            limiter.stop();
+        }
+    }
+
+    @Test
+    void allowsABurstUpToCapacityThenRejectsWithRetryAfter() {
+        limiter = limiter(new OtpRateLimitProperties.Limit(3, Duration.ofSeconds(3)), 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, requestOtp("9876543210"));
+        }
+        long retryAfterMs = requestOtp("9876543210");
+
+        // One token refills every second
+        assertTrue(retryAfterMs > 0 && retryAfterMs <= 1000, "retry after " + retryAfterMs);
+        assertEquals(0, requestOtp("9876543211"));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() throws InterruptedException {
+        limiter = limiter(new OtpRateLimitProperties.Limit(2, Duration.ofMillis(400)), 100);
+        requestOtp("9876543210");
+        requestOtp("9876543210");
+        long retryAfterMs = requestOtp("9876543210");
+        assertTrue(retryAfterMs > 0 && retryAfterMs <= 200, "retry after " + retryAfterMs);
+
+        Thread.sleep(retryAfterMs + 20);
+
+        assertEquals(0, requestOtp("9876543210"));
+        assertTrue(requestOtp("9876543210") > 0);
+    }
+
+    @Test
+    void treatsFormattingVariantsOfANumberAsOneCaller() {
+        limiter = limiter(new OtpRateLimitProperties.Limit(2, Duration.ofMinutes(1)), 100);
+
+        assertEquals(0, requestOtp("+91 98765-43210"));
+        assertEquals(0, requestOtp("919876543210"));
+        assertTrue(requestOtp("9876543210") > 0);
+    }
+
+    @Test
+    void fullScopeRejectsNewKeysInsteadOfEvictingBusyBuckets() throws InterruptedException {
+        limiter = limiter(new OtpRateLimitProperties.Limit(1, Duration.ofMillis(300)), 2);
+        assertEquals(0, requestOtp("9000000001"));
+        assertEquals(0, requestOtp("9000000002"));
+
+        assertTrue(requestOtp("9000000003") > 0);
+        // The tracked callers are still limited
+        assertTrue(requestOtp("9000000001") > 0);
+
+        Thread.sleep(400);
+
+        // Both buckets went idle and can be swept to make room
+        assertEquals(0, requestOtp("9000000003"));
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        OtpRateLimitProperties properties = properties(new OtpRateLimitProperties.Limit(1, Duration.ofMinutes(1)), 100);
+        properties.setEnabled(false);
+        limiter = new OtpRateLimiter(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, requestOtp("9876543210"));
+        }
+    }
+
+    private long requestOtp(String mobileNumber) {
+        return limiter.tryAcquire(OtpRateLimiter.Endpoint.REQUEST_OTP, mobileNumber, IP);
+    }
+
+    private static OtpRateLimiter limiter(OtpRateLimitProperties.Limit perNumber, int maxKeys) {
+        return new OtpRateLimiter(properties(perNumber, maxKeys), new SimpleMeterRegistry());
+    }
+
+    // The per-IP limit is generous so only the per-number bucket is exercised
+    private static OtpRateLimitProperties properties(OtpRateLimitProperties.Limit perNumber, int maxKeys) {
+        OtpRateLimitProperties properties = new OtpRateLimitProperties();
+        properties.setMaxKeys(maxKeys);
+        properties.setRequestOtp(new OtpRateLimitProperties.Endpoint(perNumber,
+                new OtpRateLimitProperties.Limit(1000, Duration.ofSeconds(1))));
+        return properties;
+    }
+}
@@ -0,0 +1,98 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.OtpStoreProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Behaviour every {@link OtpStore} must share, run against each implementation by its subclass.
+ */
+abstract class OtpStoreContractTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    // A started store using the given TTL and attempt budget; the subclass stops it after the test
+    protected abstract OtpStore createStore(OtpStoreProperties properties);
+
+    @Test
+    void matchingCodeIsConsumedOnce() {
+        OtpStore store = store(Duration.ofMinutes(5));
+        String key = key();
+        store.put(key, "123456");
+
+        assertEquals(OtpStore.Result.MATCHED, store.verify(key, "123456"));
+        assertEquals(OtpStore.Result.ABSENT, store.verify(key, "123456"));
+    }
+
+    @Test
+    void unknownKeyIsAbsent() {
+        assertEquals(OtpStore.Result.ABSENT, store(Duration.ofMinutes(5)).verify(key(), "123456"));
+    }
+
+    @Test
+    void wrongCodesSpendTheAttemptBudget() {
+        OtpStore store = store(Duration.ofMinutes(5));
+        String key = key();
+        store.put(key, "123456");
+
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            assertEquals(OtpStore.Result.MISMATCHED, store.verify(key, "000000"));
+        }
+        assertEquals(OtpStore.Result.MATCHED, store.verify(key, "123456"));
+    }
+
+    @Test
+    void exhaustedAttemptBudgetDiscardsTheCode() {
+        OtpStore store = store(Duration.ofMinutes(5));
+        String key = key();
+        store.put(key, "123456");
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            assertEquals(OtpStore.Result.MISMATCHED, store.verify(key, "000000"));
+        }
+        assertEquals(OtpStore.Result.ABSENT, store.verify(key, "123456"));
+    }
+
+    @Test
+    void newCodeReplacesThePendingOneAndResetsAttempts() {
+        OtpStore store = store(Duration.ofMinutes(5));
+        String key = key();
+        store.put(key, "111111");
+        for (int i = 1; i < MAX_ATTEMPTS; i++) {
+            store.verify(key, "000000");
+        }
+
+        store.put(key, "222222");
+
+        assertEquals(OtpStore.Result.MISMATCHED, store.verify(key, "111111"));
+        assertEquals(OtpStore.Result.MATCHED, store.verify(key, "222222"));
+    }
+
+    @Test
+    void expiredCodeIsAbsent() throws InterruptedException {
+        OtpStore store = store(Duration.ofMillis(200));
+        String key = key();
+        store.put(key, "123456");
+
+        Thread.sleep(400);
+
+        assertEquals(OtpStore.Result.ABSENT, store.verify(key, "123456"));
+    }
+
+    private OtpStore store(Duration ttl) {
+        OtpStoreProperties properties = new OtpStoreProperties();
+        properties.setTtl(ttl);
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setTick(Duration.ofMillis(50));
+        return createStore(properties);
+    }
+
+    // Unique per test, since the JDBC store shares one database across tests
+    private static String key() {
+        return "+91" + UUID.randomUUID();
+    }
+}
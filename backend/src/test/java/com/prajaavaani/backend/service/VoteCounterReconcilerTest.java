@@ -0,0 +1,134 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteEventLogProperties;
+import com.prajaavaani.backend.dto.CreateConcernRequest;
+import com.prajaavaani.backend.model.GeographicLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Drifted counters are recounted from the votes table, but only for concerns that have been quiet for the
+ * configured period, and never over a vote that lands between the recount and the compare-and-set.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VoteCounterReconcilerTest {
+
+    private static final AtomicInteger MOBILE = new AtomicInteger();
+
+    @DynamicPropertySource
+    static void eventLog(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("vote-events").toString();
+        registry.add("prajaavaani.votes.event-log.enabled", () -> "true");
+        registry.add("prajaavaani.votes.event-log.directory", () -> directory);
+        registry.add("prajaavaani.votes.event-log.reconcile-quiet-period", () -> "30s");
+    }
+
+    @Autowired
+    private VoteCounterReconciler reconciler;
+    @Autowired
+    private ConcernService concernService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VoteEventLog eventLog;
+    @Autowired
+    private VoteEventProjector projector;
+    @Autowired
+    private VoteTallyProjection tally;
+    @Autowired
+    private VoteEventLogProperties properties;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void correctsAQuietDriftedConcern() throws InterruptedException {
+        UUID concernId = createConcern();
+        drift(concernId, LocalDateTime.now().minusMinutes(5));
+
+        reconcile(reconciler);
+
+        assertEquals(Map.of("UPVOTES", 0, "DOWNVOTES", 0, "NET_VOTES", 0), counters(concernId));
+    }
+
+    @Test
+    void leavesRecentlyUpdatedConcernsAlone() throws InterruptedException {
+        UUID concernId = createConcern();
+        drift(concernId, LocalDateTime.now());
+
+        reconcile(reconciler);
+
+        assertEquals(Map.of("UPVOTES", 5, "DOWNVOTES", 1, "NET_VOTES", 4), counters(concernId));
+    }
+
+    @Test
+    void doesNotOverwriteAVoteThatLandsAfterTheRecount() throws InterruptedException {
+        UUID concernId = createConcern();
+        drift(concernId, LocalDateTime.now().minusMinutes(5));
+        VoteCounterReconciler racing = new VoteCounterReconciler(eventLog, projector, tally, properties, jdbcTemplate,
+                transactionManager, new SimpleMeterRegistry()) {
+            @Override
+            int[] recount(UUID id) {
+                int[] recount = super.recount(id);
+                // The same statement a vote runs: bumps the counters and updated_at
+                jdbcTemplate.update("UPDATE concerns SET upvotes = upvotes + 1, net_votes = net_votes + 1, "
+                        + "updated_at = CURRENT_TIMESTAMP WHERE id = ?", id);
+                return recount;
+            }
+        };
+
+        reconcile(racing);
+
+        assertEquals(Map.of("UPVOTES", 6, "DOWNVOTES", 1, "NET_VOTES", 5), counters(concernId));
+    }
+
+    // Waits for the projector to catch up with the log, then runs one reconciliation pass
+    private static void reconcile(VoteCounterReconciler reconciler) throws InterruptedException {
+        int result = reconciler.reconcile();
+        for (int i = 0; i < 100 && result < 0; i++) {
+            Thread.sleep(50);
+            result = reconciler.reconcile();
+        }
+        assertNotEquals(-1, result);
+    }
+
+    private UUID createConcern() {
+        UUID author = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, mobile_number, is_verified, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", author, String.format("64%08d", MOBILE.incrementAndGet()), true, now, now);
+        CreateConcernRequest create = new CreateConcernRequest();
+        create.setText("Garbage has not been collected on the market street this week");
+        create.setGeographicLevel(GeographicLevel.CITY);
+        create.setLocationIdentifier("Reconcile");
+        return concernService.createConcern(create, author).getId();
+    }
+
+    // Counters that no votes row backs, last touched at updatedAt
+    private void drift(UUID concernId, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE concerns SET upvotes = 5, downvotes = 1, net_votes = 4, updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(updatedAt), concernId);
+    }
+
+    private Map<String, Object> counters(UUID concernId) {
+        return jdbcTemplate.queryForMap("SELECT upvotes, downvotes, net_votes FROM concerns WHERE id = ?", concernId);
+    }
+}
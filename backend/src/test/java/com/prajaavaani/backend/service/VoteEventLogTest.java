@@ -0,0 +1,188 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteEventLogProperties;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.VoteEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recovery of the memory-mapped vote event log after torn or corrupted records, segment retention, and
+ * replaying a projection from an offset.
+ */
+class VoteEventLogTest {
+
+    // Header (8) + fixed payload (53) + the 4-byte location used below
+    private static final int RECORD = 65;
+
+    @TempDir
+    Path directory;
+
+    private final List<VoteEventLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void stopLogs() {
+        opened.forEach(VoteEventLog::stop);
+    }
+
+    @Test
+    void recoveryDropsATruncatedFinalRecord() throws IOException {
+        VoteEventLog log = open(DataSize.ofKilobytes(4));
+        appendEvents(log, 3);
+        log.stop();
+        // The process died while the last payload was being copied: its tail never reached the file
+        overwrite(firstSegment(), 2 * RECORD + RECORD - 4, new byte[4]);
+
+        VoteEventLog reopened = open(DataSize.ofKilobytes(4));
+        assertEquals(2, reopened.endOffset());
+        assertEquals(2, appendEvents(reopened, 1).get(0));
+        assertEquals(List.of(0L, 1L, 2L), offsets(reopened, 0));
+    }
+
+    @Test
+    void recoveryTruncatesAtACorruptRecordMidSegment() throws IOException {
+        VoteEventLog log = open(DataSize.ofKilobytes(4));
+        appendEvents(log, 5);
+        log.stop();
+        // Flip a byte inside the second record's user ID so its CRC no longer matches
+        overwrite(firstSegment(), RECORD + 8 + 20, new byte[]{0x5a});
+
+        VoteEventLog reopened = open(DataSize.ofKilobytes(4));
+        assertEquals(1, reopened.endOffset());
+        assertEquals(List.of(0L), offsets(reopened, 0));
+    }
+
+    @Test
+    void deletesOnlySealedSegmentsBelowTheGivenOffset() {
+        // Three records per segment
+        VoteEventLog log = open(DataSize.ofBytes(3 * RECORD + 4));
+        appendEvents(log, 7);
+        long completeSince = log.completeSinceMillis();
+        long later = System.currentTimeMillis() + 1_000;
+
+        assertEquals(1, log.deleteSegments(4, later));
+        assertEquals(3, log.startOffset());
+        assertEquals(0, log.deleteSegments(5, later));
+        assertEquals(1, log.deleteSegments(log.endOffset(), later));
+        assertEquals(6, log.startOffset());
+        assertEquals(List.of(6L), offsets(log, 0));
+        // The active segment is never deleted, and the log only claims completeness from its first retained event
+        assertEquals(0, log.deleteSegments(log.endOffset(), later));
+        assertTrue(log.completeSinceMillis() >= completeSince);
+
+        log.stop();
+        VoteEventLog reopened = open(DataSize.ofBytes(3 * RECORD + 4));
+        assertEquals(6, reopened.startOffset());
+        assertEquals(7, reopened.endOffset());
+        assertEquals(log.completeSinceMillis(), reopened.completeSinceMillis());
+    }
+
+    @Test
+    void keepsSegmentsNewerThanTheRetention() {
+        VoteEventLog log = open(DataSize.ofBytes(3 * RECORD + 4));
+        appendEvents(log, 7);
+
+        assertEquals(0, log.deleteSegments(log.endOffset(), System.currentTimeMillis() - 60_000));
+        assertEquals(0, log.startOffset());
+    }
+
+    @Test
+    void projectorReplaysAProjectionFromAnOffset() {
+        VoteEventLog log = open(DataSize.ofKilobytes(4));
+        appendEvents(log, 6);
+        RecordingProjection projection = new RecordingProjection();
+        VoteEventLogProperties properties = properties(DataSize.ofKilobytes(4));
+        VoteEventProjector projector = new VoteEventProjector(log, List.of(projection), properties, new SimpleMeterRegistry());
+        projector.start();
+        try {
+            projector.replay(projection.name(), 4);
+            assertEquals(List.of(4L, 5L), projection.offsets);
+            assertEquals(6, projector.appliedOffset(projection.name()));
+
+            // Offsets before the start of the log are clamped to it
+            projector.replay(projection.name(), -10);
+            assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), projection.offsets);
+        } finally {
+            projector.stop();
+        }
+    }
+
+    private VoteEventLog open(DataSize segmentSize) {
+        VoteEventLog log = new VoteEventLog(properties(segmentSize), new SimpleMeterRegistry());
+        log.start();
+        opened.add(log);
+        return log;
+    }
+
+    private VoteEventLogProperties properties(DataSize segmentSize) {
+        VoteEventLogProperties properties = new VoteEventLogProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        properties.setForceInterval(Duration.ofHours(1));
+        properties.setPollInterval(Duration.ofMillis(10));
+        return properties;
+    }
+
+    private static List<Long> appendEvents(VoteEventLog log, int count) {
+        List<Long> offsets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            offsets.add(log.append(UUID.randomUUID(), UUID.randomUUID(), HotPathMetrics.VoteOutcome.NEW,
+                    VoteEntity.VoteType.UPVOTE, GeographicLevel.CITY, "Pune"));
+        }
+        return offsets;
+    }
+
+    private static List<Long> offsets(VoteEventLog log, long from) {
+        List<Long> offsets = new ArrayList<>();
+        log.poll(log.openCursor(from), 100, event -> offsets.add(event.offset()));
+        return offsets;
+    }
+
+    private Path firstSegment() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).sorted().findFirst().orElseThrow();
+        }
+    }
+
+    private static void overwrite(Path file, long position, byte[] bytes) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            raf.write(bytes);
+        }
+    }
+
+    private static final class RecordingProjection implements VoteProjection {
+        final List<Long> offsets = new ArrayList<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void apply(VoteEvent event) {
+            offsets.add(event.offset());
+        }
+
+        @Override
+        public void reset() {
+            offsets.clear();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.prajaavaani.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prajaavaani.backend.config.VoteIdempotencyProperties;
+import com.prajaavaani.backend.dto.ConcernDto;
+import com.prajaavaani.backend.dto.VoteRequest;
+import com.prajaavaani.backend.model.VoteEntity;
+import com.prajaavaani.backend.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Claim states and transitions of the vote idempotency store, in memory and persisted to idempotency_keys, where
+ * two store instances stand in for two application instances sharing the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VoteIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID concernId = UUID.randomUUID();
+
+    @Test
+    void firstClaimIsNewAndRetriesWaitForIt() {
+        VoteIdempotencyStore store = store(false, Duration.ofSeconds(30));
+        String key = key();
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status());
+        assertEquals(VoteIdempotencyStore.Claim.Status.IN_PROGRESS, store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status());
+    }
+
+    @Test
+    void completedClaimIsReplayed() {
+        VoteIdempotencyStore store = store(false, Duration.ofSeconds(30));
+        String key = key();
+        store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+        store.complete(userId, key, response(7));
+
+        VoteIdempotencyStore.Claim retry = store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.REPLAY, retry.status());
+        assertEquals(7, retry.response().getUpvotes());
+    }
+
+    @Test
+    void reusingAKeyForAnotherVoteIsAMismatch() {
+        VoteIdempotencyStore store = store(false, Duration.ofSeconds(30));
+        String key = key();
+        store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.MISMATCH, store.claim(userId, key, vote(VoteEntity.VoteType.DOWNVOTE)).status());
+    }
+
+    @Test
+    void keysAreScopedToTheUser() {
+        VoteIdempotencyStore store = store(false, Duration.ofSeconds(30));
+        String key = key();
+        store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, store.claim(UUID.randomUUID(), key, vote(VoteEntity.VoteType.UPVOTE)).status());
+    }
+
+    @Test
+    void releasedClaimCanBeClaimedAgain() {
+        VoteIdempotencyStore store = store(false, Duration.ofSeconds(30));
+        String key = key();
+        store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+
+        store.release(userId, key);
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status());
+    }
+
+    @Test
+    void abandonedClaimIsReclaimedAfterThePendingTimeout() throws InterruptedException {
+        VoteIdempotencyStore store = store(false, Duration.ofMillis(200));
+        String key = key();
+        store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+
+        Thread.sleep(300);
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status());
+    }
+
+    @Test
+    void concurrentClaimsOfOneKeyYieldASingleNew() throws Exception {
+        VoteIdempotencyStore store = store(false, Duration.ofSeconds(30));
+        assertEquals(List.of(VoteIdempotencyStore.Claim.Status.NEW, VoteIdempotencyStore.Claim.Status.IN_PROGRESS),
+                sorted(claimConcurrently(store, store, key())));
+    }
+
+    @Test
+    void persistentClaimIsSharedAcrossInstances() {
+        VoteIdempotencyStore first = store(true, Duration.ofSeconds(30));
+        VoteIdempotencyStore second = store(true, Duration.ofSeconds(30));
+        String key = key();
+
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, first.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status());
+        assertEquals(VoteIdempotencyStore.Claim.Status.IN_PROGRESS, second.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status());
+        assertEquals(VoteIdempotencyStore.Claim.Status.MISMATCH, second.claim(userId, key, vote(VoteEntity.VoteType.DOWNVOTE)).status());
+
+        first.complete(userId, key, response(3));
+
+        VoteIdempotencyStore.Claim retry = second.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE));
+        assertEquals(VoteIdempotencyStore.Claim.Status.REPLAY, retry.status());
+        assertEquals(3, retry.response().getUpvotes());
+    }
+
+    @Test
+    void persistentReleaseAndPendingTimeoutFreeTheKey() throws InterruptedException {
+        VoteIdempotencyStore first = store(true, Duration.ofMillis(200));
+        VoteIdempotencyStore second = store(true, Duration.ofMillis(200));
+        String released = key();
+        first.claim(userId, released, vote(VoteEntity.VoteType.UPVOTE));
+        first.release(userId, released);
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, second.claim(userId, released, vote(VoteEntity.VoteType.UPVOTE)).status());
+
+        String abandoned = key();
+        first.claim(userId, abandoned, vote(VoteEntity.VoteType.UPVOTE));
+        Thread.sleep(300);
+        assertEquals(VoteIdempotencyStore.Claim.Status.NEW, second.claim(userId, abandoned, vote(VoteEntity.VoteType.UPVOTE)).status());
+    }
+
+    @Test
+    void concurrentPersistentClaimsYieldASingleNew() throws Exception {
+        VoteIdempotencyStore first = store(true, Duration.ofSeconds(30));
+        VoteIdempotencyStore second = store(true, Duration.ofSeconds(30));
+        assertEquals(List.of(VoteIdempotencyStore.Claim.Status.NEW, VoteIdempotencyStore.Claim.Status.IN_PROGRESS),
+                sorted(claimConcurrently(first, second, key())));
+    }
+
+    private List<VoteIdempotencyStore.Claim.Status> claimConcurrently(VoteIdempotencyStore first,
+                                                                    VoteIdempotencyStore second,
+                                                                    String key) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<VoteIdempotencyStore.Claim.Status>> claims = new ArrayList<>();
+            for (VoteIdempotencyStore store : List.of(first, second)) {
+                claims.add(pool.submit(() -> {
+                    start.await();
+                    return store.claim(userId, key, vote(VoteEntity.VoteType.UPVOTE)).status();
+                }));
+            }
+            start.countDown();
+            List<VoteIdempotencyStore.Claim.Status> statuses = new ArrayList<>();
+            for (Future<VoteIdempotencyStore.Claim.Status> claim : claims) {
+                statuses.add(claim.get());
+            }
+            return statuses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<VoteIdempotencyStore.Claim.Status> sorted(List<VoteIdempotencyStore.Claim.Status> statuses) {
+        return statuses.stream().sorted().toList();
+    }
+
+    private VoteIdempotencyStore store(boolean persistent, Duration pendingTimeout) {
+        VoteIdempotencyProperties properties = new VoteIdempotencyProperties();
+        properties.setPersistent(persistent);
+        properties.setPendingTimeout(pendingTimeout);
+        return new VoteIdempotencyStore(properties, idempotencyKeyRepository, transactionManager, objectMapper,
+                new SimpleMeterRegistry());
+    }
+
+    private VoteRequest vote(VoteEntity.VoteType voteType) {
+        VoteRequest request = new VoteRequest();
+        request.setConcernId(concernId);
+        request.setVoteType(voteType);
+        return request;
+    }
+
+    private ConcernDto response(int upvotes) {
+        ConcernDto dto = new ConcernDto();
+        dto.setId(concernId);
+        dto.setUpvotes(upvotes);
+        dto.setNetVotes(upvotes);
+        return dto;
+    }
+
+    // Unique per test, since the persistent store shares one database across tests
+    private static String key() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.model.VoteEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoteJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysUnflushedEntriesAfterRestart() {
+        List<PendingVote> written = List.of(vote(1), vote(2), vote(3));
+        try (VoteJournal journal = new VoteJournal(directory, "node-a", 2, false)) {
+            journal.replay(0, 0);
+            journal.replay(1, 0);
+            written.forEach(vote -> journal.append(0, vote));
+        }
+
+        try (VoteJournal reopened = new VoteJournal(directory, "node-a", 2, false)) {
+            assertEquals(written, reopened.replay(0, 0));
+            assertEquals(List.of(), reopened.replay(1, 0));
+        }
+    }
+
+    @Test
+    void skipsEntriesCoveredByTheCheckpointAndDeletesFlushedSegments() throws IOException {
+        try (VoteJournal journal = new VoteJournal(directory, "node-a", 1, false)) {
+            journal.replay(0, 0);
+            journal.append(0, vote(1));
+            journal.append(0, vote(2));
+            journal.roll(0);
+            journal.append(0, vote(3));
+        }
+
+        try (VoteJournal reopened = new VoteJournal(directory, "node-a", 1, false)) {
+            assertEquals(List.of(vote(3)), reopened.replay(0, 2));
+        }
+        // The first segment only held entries up to the checkpoint
+        assertEquals(1, segmentCount());
+    }
+
+    @Test
+    void skipsATornLastLine() throws IOException {
+        try (VoteJournal journal = new VoteJournal(directory, "node-a", 1, false)) {
+            journal.replay(0, 0);
+            journal.append(0, vote(1));
+        }
+        try (var segments = Files.list(directory)) {
+            Path segment = segments.filter(path -> path.getFileName().toString().startsWith("stripe-")).findFirst().orElseThrow();
+            Files.writeString(segment, "2 " + UUID.randomUUID() + " 1f3", StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+        }
+
+        try (VoteJournal reopened = new VoteJournal(directory, "node-a", 1, false)) {
+            assertEquals(List.of(vote(1)), reopened.replay(0, 0));
+        }
+    }
+
+    @Test
+    void rejectsSegmentsForStripesThatAreNoLongerConfigured() {
+        try (VoteJournal journal = new VoteJournal(directory, "node-a", 4, false)) {
+            journal.replay(3, 0);
+            journal.append(3, vote(1));
+        }
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new VoteJournal(directory, "node-a", 2, false));
+        assertTrue(e.getMessage().contains("stripe 3"), e.getMessage());
+    }
+
+    @Test
+    void rejectsAJournalOwnedByAnotherInstance() {
+        new VoteJournal(directory, "node-a", 1, false).close();
+
+        assertThrows(IllegalStateException.class, () -> new VoteJournal(directory, "node-b", 1, false));
+    }
+
+    private long segmentCount() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("stripe-")).count();
+        }
+    }
+
+    // Deterministic per seq so replayed entries compare equal to the written ones
+    private static PendingVote vote(long seq) {
+        return new PendingVote(seq, new UUID(1, seq), new UUID(2, seq),
+                seq % 2 == 0 ? VoteEntity.VoteType.DOWNVOTE : VoteEntity.VoteType.UPVOTE, 1_700_000_000_000L + seq);
+    }
+}
@@ -0,0 +1,136 @@
+package com.prajaavaani.backend.service;
+
+import com.prajaavaani.backend.config.VoteWriteBehindProperties;
+import com.prajaavaani.backend.dto.CreateConcernRequest;
+import com.prajaavaani.backend.model.GeographicLevel;
+import com.prajaavaani.backend.model.VoteEntity;
+import com.prajaavaani.backend.model.VoteFlushCheckpointEntity;
+import com.prajaavaani.backend.repository.ConcernRepository;
+import com.prajaavaani.backend.repository.VoteFlushCheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Restarts a write-behind instance over a journal that was only partly flushed before the "crash" and checks that
+ * the (instance, stripe) checkpoint keeps already-applied votes from being applied a second time. Votes toggle, so a
+ * double-applied upvote would show up as a missing one.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VoteWriteBehindRecoveryTest {
+
+    private static final String INSTANCE = "recovery-b";
+
+    @TempDir
+    Path journalDirectory;
+
+    @Autowired
+    private ConcernService concernService;
+    @Autowired
+    private ConcernRepository concernRepository;
+    @Autowired
+    private VoteFlushCheckpointRepository checkpointRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private VoteEventLog voteEventLog;
+    @Autowired
+    private TrendingLeaderboard trendingLeaderboard;
+    @Autowired
+    private LeaderboardCache leaderboardCache;
+    @Autowired
+    private LeaderboardRollupService leaderboardRollupService;
+    @Autowired
+    private ConcernSearchIndex concernSearchIndex;
+
+    @Test
+    void replaysOnlyJournalEntriesPastThisInstancesCheckpoint() {
+        UUID flushedVoter = seedUser("6300000001");
+        UUID unflushedVoter = seedUser("6300000002");
+        CreateConcernRequest create = new CreateConcernRequest();
+        create.setText("Water tanker schedule is not being followed in ward 12");
+        create.setGeographicLevel(GeographicLevel.CITY);
+        create.setLocationIdentifier("Recovery");
+        UUID concernId = concernService.createConcern(create, flushedVoter).getId();
+
+        // Seq 1 was applied and checkpointed before the crash; seq 2 was only journaled
+        try (VoteJournal journal = new VoteJournal(journalDirectory, INSTANCE, 1, false)) {
+            journal.replay(0, 0);
+            journal.append(0, new PendingVote(1, flushedVoter, concernId, VoteEntity.VoteType.UPVOTE, 1L));
+            journal.append(0, new PendingVote(2, unflushedVoter, concernId, VoteEntity.VoteType.UPVOTE, 2L));
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO votes (id, user_id, concern_id, vote_type, timestamp) VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID(), flushedVoter, concernId, "UPVOTE", now);
+        jdbcTemplate.update("UPDATE concerns SET upvotes = 1, net_votes = 1 WHERE id = ?", concernId);
+        checkpointRepository.save(new VoteFlushCheckpointEntity(INSTANCE, 0, 1L));
+        // Another instance's checkpoint for the same stripe number must not be picked up
+        checkpointRepository.save(new VoteFlushCheckpointEntity("recovery-a", 0, 0L));
+
+        VoteWriteBehindService restarted = newService();
+        restarted.start();
+        try {
+            restarted.flushAll();
+        } finally {
+            restarted.stop();
+        }
+
+        var concern = concernRepository.findById(concernId).orElseThrow();
+        assertEquals(2, concern.getUpvotes());
+        assertEquals(2, countVotes(concernId, flushedVoter) + countVotes(concernId, unflushedVoter));
+        assertEquals(2L, lastSeq(INSTANCE));
+        assertEquals(0L, lastSeq("recovery-a"));
+    }
+
+    private VoteWriteBehindService newService() {
+        VoteWriteBehindProperties properties = new VoteWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setInstanceId(INSTANCE);
+        properties.setStripes(1);
+        properties.setJournalDirectory(journalDirectory.toString());
+        // Flushed explicitly by the test
+        properties.setFlushInterval(Duration.ofHours(1));
+        return new VoteWriteBehindService(properties, namedJdbcTemplate, transactionManager, checkpointRepository,
+                meterRegistry, voteEventLog, trendingLeaderboard, concernRepository, leaderboardCache,
+                leaderboardRollupService, concernSearchIndex);
+    }
+
+    private UUID seedUser(String mobileNumber) {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (id, mobile_number, is_verified, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", id, mobileNumber, true, now, now);
+        return id;
+    }
+
+    private int countVotes(UUID concernId, UUID userId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM votes WHERE concern_id = ? AND user_id = ?",
+                Integer.class, concernId, userId);
+        return count == null ? 0 : count;
+    }
+
+    private long lastSeq(String instanceId) {
+        return checkpointRepository.findById(new VoteFlushCheckpointEntity.Key(instanceId, 0)).orElseThrow().getLastSeq();
+    }
+}